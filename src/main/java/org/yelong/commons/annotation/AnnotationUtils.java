@@ -5,16 +5,85 @@ package org.yelong.commons.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.yelong.commons.lang.annotation.AnnotationUtilsE;
 
 /**
+ * 注解的查找结果（包括注解不存在的结果）会被缓存，同一个 class、字段的相同注解只查找一次。缓存以
+ * {@link ClassValue} 保存，不会阻止 class 被卸载
+ * 
  * @see AnnotationUtilsE
  * @deprecated 冲突的类命名
  * @since 2.0
  */
 public class AnnotationUtils {
 
+	/**
+	 * 注解不存在的缓存值
+	 */
+	private static final Object NONE = new Object();
+
+	/**
+	 * class -> 注解类型 -> 注解
+	 */
+	private static final ClassValue<ConcurrentMap<Class<?>, Object>> CLASS_ANNOTATIONS = new AnnotationCache<>();
+
+	/**
+	 * class -> 注解类型 -> 注解（递归查找父类）
+	 */
+	private static final ClassValue<ConcurrentMap<Class<?>, Object>> RECURSIVE_CLASS_ANNOTATIONS = new AnnotationCache<>();
+
+	/**
+	 * 字段所在的 class -> 字段 -> 注解类型 -> 注解
+	 */
+	private static final ClassValue<ConcurrentMap<Field, ConcurrentMap<Class<?>, Object>>> FIELD_ANNOTATIONS = new AnnotationCache<>();
+
+	/**
+	 * class -> 声明的所有字段及其注解
+	 */
+	private static final ClassValue<List<FieldAnnotations>> DECLARED_FIELD_ANNOTATIONS = new ClassValue<List<FieldAnnotations>>() {
+
+		@Override
+		protected List<FieldAnnotations> computeValue(Class<?> type) {
+			Field[] fields = type.getDeclaredFields();
+			List<FieldAnnotations> fieldAnnotations = new ArrayList<>(fields.length);
+			for (Field field : fields) {
+				if (!field.isSynthetic()) {
+					fieldAnnotations.add(new FieldAnnotations(field));
+				}
+			}
+			return Collections.unmodifiableList(fieldAnnotations);
+		}
+
+	};
+
+	/**
+	 * class -> 声明的以及从父类继承的所有字段及其注解
+	 */
+	private static final ClassValue<List<FieldAnnotations>> ALL_FIELD_ANNOTATIONS = new ClassValue<List<FieldAnnotations>>() {
+
+		@Override
+		protected List<FieldAnnotations> computeValue(Class<?> type) {
+			List<FieldAnnotations> declared = DECLARED_FIELD_ANNOTATIONS.get(type);
+			Class<?> superclass = type.getSuperclass();
+			if (null == superclass || superclass == Object.class) {
+				return declared;
+			}
+			List<FieldAnnotations> inherited = ALL_FIELD_ANNOTATIONS.get(superclass);
+			List<FieldAnnotations> fieldAnnotations = new ArrayList<>(declared.size() + inherited.size());
+			fieldAnnotations.addAll(declared);
+			fieldAnnotations.addAll(inherited);
+			return Collections.unmodifiableList(fieldAnnotations);
+		}
+
+	};
+
 	/**
 	 * <pre>
 	 * 获取 class 标注的指定类型的注解
@@ -29,7 +98,18 @@ public class AnnotationUtils {
 	 * @see Class#getAnnotation(Class)
 	 */
 	public static <A extends Annotation> A getAnnotation(Class<?> c, Class<A> annotation, boolean recursive) {
-		return AnnotationUtilsE.getAnnotation(c, annotation, recursive);
+		if (null == c || null == annotation) {
+			return AnnotationUtilsE.getAnnotation(c, annotation, recursive);
+		}
+		ConcurrentMap<Class<?>, Object> annotations = (recursive ? RECURSIVE_CLASS_ANNOTATIONS : CLASS_ANNOTATIONS)
+				.get(c);
+		Object value = annotations.get(annotation);
+		if (null == value) {
+			A a = AnnotationUtilsE.getAnnotation(c, annotation, recursive);
+			value = null == a ? NONE : a;
+			annotations.putIfAbsent(annotation, value);
+		}
+		return value == NONE ? null : annotation.cast(value);
 	}
 
 	/**
@@ -45,7 +125,57 @@ public class AnnotationUtils {
 	 * @return 字段存在annotation类型的注解则返回 annotation ，否则返回 <code>null</code>
 	 */
 	public static <A extends Annotation> A getAnnotation(Field field, Class<A> annotation) {
-		return AnnotationUtilsE.getAnnotation(field, annotation);
+		if (null == field || null == annotation) {
+			return AnnotationUtilsE.getAnnotation(field, annotation);
+		}
+		ConcurrentMap<Field, ConcurrentMap<Class<?>, Object>> fields = FIELD_ANNOTATIONS.get(field.getDeclaringClass());
+		ConcurrentMap<Class<?>, Object> annotations = fields.get(field);
+		if (null == annotations) {
+			annotations = fields.computeIfAbsent(field, k -> new ConcurrentHashMap<>(4));
+		}
+		Object value = annotations.get(annotation);
+		if (null == value) {
+			A a = AnnotationUtilsE.getAnnotation(field, annotation);
+			value = null == a ? NONE : a;
+			annotations.putIfAbsent(annotation, value);
+		}
+		return value == NONE ? null : annotation.cast(value);
+	}
+
+	/**
+	 * 一次获取 class 的所有字段及字段上的注解<br/>
+	 * 
+	 * 结果在第一次获取时计算并缓存，之后的获取不再进行反射。返回的集合不可修改。当前类的字段在前，父类的字段在后
+	 * 
+	 * @param c         class
+	 * @param recursive 是否包含父类（直至Object类）声明的字段
+	 * @return 字段及其注解的集合
+	 */
+	public static List<FieldAnnotations> getFieldAnnotations(Class<?> c, boolean recursive) {
+		return (recursive ? ALL_FIELD_ANNOTATIONS : DECLARED_FIELD_ANNOTATIONS).get(c);
+	}
+
+	/**
+	 * 预先并行计算 class 的字段及其注解，避免第一次使用时进行反射的开销。通常在应用启动时对所有的 model class 调用
+	 * 
+	 * @param recursive 是否包含父类声明的字段
+	 * @param classes   class
+	 * @see #getFieldAnnotations(Class, boolean)
+	 */
+	public static void preloadFieldAnnotations(boolean recursive, Class<?>... classes) {
+		Arrays.stream(classes).parallel().forEach(c -> getFieldAnnotations(c, recursive));
+	}
+
+	/**
+	 * 每个 class 的注解缓存
+	 */
+	private static final class AnnotationCache<K, V> extends ClassValue<ConcurrentMap<K, V>> {
+
+		@Override
+		protected ConcurrentMap<K, V> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>(8);
+		}
+
 	}
 
 }
@@ -0,0 +1,85 @@
+/**
+ * 
+ */
+package org.yelong.commons.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 字段与字段上标注的所有注解。实例不可变
+ * 
+ * @see AnnotationUtils#getFieldAnnotations(Class, boolean)
+ * @since 2.2
+ */
+public final class FieldAnnotations {
+
+	private final Field field;
+
+	private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+	FieldAnnotations(Field field) {
+		this.field = field;
+		Annotation[] declaredAnnotations = field.getDeclaredAnnotations();
+		if (declaredAnnotations.length == 0) {
+			this.annotations = Collections.emptyMap();
+		} else {
+			Map<Class<? extends Annotation>, Annotation> annotations = new LinkedHashMap<>(
+					declaredAnnotations.length * 4 / 3 + 1);
+			for (Annotation annotation : declaredAnnotations) {
+				annotations.put(annotation.annotationType(), annotation);
+			}
+			this.annotations = Collections.unmodifiableMap(annotations);
+		}
+	}
+
+	/**
+	 * @return 字段
+	 */
+	public Field getField() {
+		return field;
+	}
+
+	/**
+	 * @return 字段名称
+	 */
+	public String getName() {
+		return field.getName();
+	}
+
+	/**
+	 * 获取字段上指定类型的注解
+	 * 
+	 * @param <A>        annotation type
+	 * @param annotation 注解类型
+	 * @return 字段存在annotation类型的注解则返回 annotation ，否则返回 <code>null</code>
+	 */
+	public <A extends Annotation> A getAnnotation(Class<A> annotation) {
+		return annotation.cast(annotations.get(annotation));
+	}
+
+	/**
+	 * @param annotation 注解类型
+	 * @return <tt>true</tt> 字段标注了该类型的注解
+	 */
+	public boolean isAnnotationPresent(Class<? extends Annotation> annotation) {
+		return annotations.containsKey(annotation);
+	}
+
+	/**
+	 * @return 字段上标注的所有注解
+	 */
+	public Collection<Annotation> getAnnotations() {
+		return annotations.values();
+	}
+
+	@Override
+	public String toString() {
+		return field + " " + annotations.values();
+	}
+
+}
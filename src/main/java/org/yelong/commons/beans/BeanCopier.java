@@ -0,0 +1,279 @@
+/**
+ * 
+ */
+package org.yelong.commons.beans;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * bean 属性复制器<br/>
+ * 
+ * 复制器在创建时计算源类型与目标类型之间同名且类型兼容的属性对，并将每一对属性的get/set方法组合为一个
+ * {@link MethodHandle}。复制时不再查找属性，类型相同的基本类型属性直接传递，不进行装箱<br/>
+ * 
+ * 同一对类型的复制器只会创建一次，通过 {@link #create(Class, Class)} 获取
+ * 
+ * @param <S> source type
+ * @param <T> target type
+ * @see BeanPropertyAccessors
+ * @since 2.2
+ */
+public final class BeanCopier<S, T> {
+
+	private static final MethodType COPY_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>> CACHE = new ClassValue<ConcurrentMap<Class<?>, BeanCopier<?, ?>>>() {
+
+		@Override
+		protected ConcurrentMap<Class<?>, BeanCopier<?, ?>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+
+	};
+
+	private final Class<S> sourceClass;
+
+	private final Class<T> targetClass;
+
+	private final PropertyCopier[] propertyCopiers;
+
+	private BeanCopier(Class<S> sourceClass, Class<T> targetClass) {
+		this.sourceClass = sourceClass;
+		this.targetClass = targetClass;
+		BeanPropertyAccessors targetAccessors = BeanPropertyAccessors.forClass(targetClass);
+		List<PropertyCopier> propertyCopiers = new ArrayList<>();
+		for (BeanPropertyAccessor sourceAccessor : BeanPropertyAccessors.forClass(sourceClass).getAccessors()) {
+			if (!sourceAccessor.isReadable()) {
+				continue;
+			}
+			BeanPropertyAccessor targetAccessor = targetAccessors.getAccessor(sourceAccessor.getName());
+			if (null == targetAccessor || !targetAccessor.isWritable()) {
+				continue;
+			}
+			PropertyCopier propertyCopier = createPropertyCopier(sourceAccessor, targetAccessor);
+			if (null != propertyCopier) {
+				propertyCopiers.add(propertyCopier);
+			}
+		}
+		this.propertyCopiers = propertyCopiers.toArray(new PropertyCopier[propertyCopiers.size()]);
+	}
+
+	/**
+	 * 获取源类型到目标类型的复制器
+	 * 
+	 * @param <S>         source type
+	 * @param <T>         target type
+	 * @param sourceClass 源类型
+	 * @param targetClass 目标类型
+	 * @return 复制器
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, T> BeanCopier<S, T> create(Class<S> sourceClass, Class<T> targetClass) {
+		Objects.requireNonNull(sourceClass);
+		Objects.requireNonNull(targetClass);
+		return (BeanCopier<S, T>) CACHE.get(sourceClass).computeIfAbsent(targetClass,
+				k -> new BeanCopier<>(sourceClass, targetClass));
+	}
+
+	/**
+	 * 复制源对象的属性到目标对象。只复制两者同名且类型兼容的属性
+	 * 
+	 * @param source 源对象
+	 * @param target 目标对象
+	 * @return target
+	 */
+	public T copy(S source, T target) {
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(target);
+		for (PropertyCopier propertyCopier : propertyCopiers) {
+			propertyCopier.copy(source, target);
+		}
+		return target;
+	}
+
+	/**
+	 * 复制源对象的属性到新创建的目标对象
+	 * 
+	 * @param source         源对象
+	 * @param targetSupplier 目标对象供应商
+	 * @return 目标对象
+	 */
+	public T copy(S source, Supplier<? extends T> targetSupplier) {
+		return copy(source, targetSupplier.get());
+	}
+
+	/**
+	 * 批量复制。适用于复制查询结果，如
+	 * {@link org.yelong.core.model.service.SqlModelServiceAdapter#findAll(Class)}
+	 * 
+	 * @param sources        源对象集合
+	 * @param targetSupplier 目标对象供应商
+	 * @return 目标对象集合，顺序与源对象一致
+	 */
+	public List<T> copyList(Collection<? extends S> sources, Supplier<? extends T> targetSupplier) {
+		List<T> targets = new ArrayList<>(sources.size());
+		for (S source : sources) {
+			targets.add(copy(source, targetSupplier.get()));
+		}
+		return targets;
+	}
+
+	/**
+	 * @return 源类型
+	 */
+	public Class<S> getSourceClass() {
+		return sourceClass;
+	}
+
+	/**
+	 * @return 目标类型
+	 */
+	public Class<T> getTargetClass() {
+		return targetClass;
+	}
+
+	/**
+	 * 将bean所有可读的属性放入map中
+	 * 
+	 * @param bean bean
+	 * @return 属性名称与属性值的map，顺序与属性顺序一致
+	 */
+	public static Map<String, Object> toMap(Object bean) {
+		Objects.requireNonNull(bean);
+		return toMap(BeanPropertyAccessors.forClass(bean.getClass()), bean);
+	}
+
+	/**
+	 * 批量将bean转换为map
+	 * 
+	 * @param beans beans
+	 * @return 属性名称与属性值的map集合，顺序与beans一致
+	 * @see #toMap(Object)
+	 */
+	public static List<Map<String, Object>> toMapList(Collection<?> beans) {
+		List<Map<String, Object>> maps = new ArrayList<>(beans.size());
+		BeanPropertyAccessors accessors = null;
+		for (Object bean : beans) {
+			Objects.requireNonNull(bean);
+			if (null == accessors || accessors.getBeanClass() != bean.getClass()) {
+				accessors = BeanPropertyAccessors.forClass(bean.getClass());
+			}
+			maps.add(toMap(accessors, bean));
+		}
+		return maps;
+	}
+
+	/**
+	 * 将map中的值设置到bean同名的属性中。map中不存在的属性、bean中不可写的属性不进行设置，基本类型的属性忽略
+	 * <code>null</code> 值
+	 * 
+	 * @param <B>  bean type
+	 * @param map  属性名称与属性值的map
+	 * @param bean bean
+	 * @return bean
+	 * @throws ClassCastException 值的类型与属性类型不匹配
+	 */
+	public static <B> B fromMap(Map<String, ?> map, B bean) {
+		Objects.requireNonNull(map);
+		Objects.requireNonNull(bean);
+		for (BeanPropertyAccessor accessor : BeanPropertyAccessors.forClass(bean.getClass()).getAccessors()) {
+			if (!accessor.isWritable()) {
+				continue;
+			}
+			Object value = map.get(accessor.getName());
+			if (null == value) {
+				if (accessor.getType().isPrimitive() || !map.containsKey(accessor.getName())) {
+					continue;
+				}
+			}
+			accessor.set(bean, value);
+		}
+		return bean;
+	}
+
+	/**
+	 * 批量将map转换为bean
+	 * 
+	 * @param <B>          bean type
+	 * @param maps         属性名称与属性值的map集合
+	 * @param beanSupplier bean供应商
+	 * @return bean集合，顺序与maps一致
+	 * @see #fromMap(Map, Object)
+	 */
+	public static <B> List<B> fromMapList(Collection<? extends Map<String, ?>> maps,
+			Supplier<? extends B> beanSupplier) {
+		List<B> beans = new ArrayList<>(maps.size());
+		for (Map<String, ?> map : maps) {
+			beans.add(fromMap(map, beanSupplier.get()));
+		}
+		return beans;
+	}
+
+	private static Map<String, Object> toMap(BeanPropertyAccessors accessors, Object bean) {
+		Collection<BeanPropertyAccessor> propertyAccessors = accessors.getAccessors();
+		Map<String, Object> map = new LinkedHashMap<>(propertyAccessors.size() * 4 / 3 + 1);
+		for (BeanPropertyAccessor accessor : propertyAccessors) {
+			if (accessor.isReadable()) {
+				map.put(accessor.getName(), accessor.get(bean));
+			}
+		}
+		return map;
+	}
+
+	private static PropertyCopier createPropertyCopier(BeanPropertyAccessor sourceAccessor,
+			BeanPropertyAccessor targetAccessor) {
+		Class<?> sourceType = sourceAccessor.getType();
+		Class<?> targetType = targetAccessor.getType();
+		boolean assignable = targetType.isAssignableFrom(sourceType);
+		boolean boxing = !assignable && sourceType.isPrimitive()
+				&& targetType.isAssignableFrom(BeanPropertyAccessor.wrap(sourceType));
+		boolean unboxing = !assignable && targetType.isPrimitive()
+				&& BeanPropertyAccessor.wrap(targetType) == sourceType;
+		if (!assignable && !boxing && !unboxing) {
+			return null;
+		}
+		MethodHandle readHandle = sourceAccessor.getReadHandle();
+		MethodHandle writeHandle = targetAccessor.getWriteHandle();
+		if (unboxing || null == readHandle || null == writeHandle) {
+			// 包装类型到基本类型时忽略 null 值
+			return (source, target) -> {
+				Object value = sourceAccessor.get(source);
+				if (null != value || !targetType.isPrimitive()) {
+					targetAccessor.set(target, value);
+				}
+			};
+		}
+		// (target, source)void
+		MethodHandle handle = MethodHandles.filterArguments(
+				writeHandle.asType(writeHandle.type().changeParameterType(1, sourceType)), 1, readHandle);
+		MethodHandle copyHandle = handle.asType(COPY_TYPE);
+		return (source, target) -> {
+			try {
+				copyHandle.invokeExact(target, source);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	@FunctionalInterface
+	private interface PropertyCopier {
+
+		void copy(Object source, Object target);
+
+	}
+
+}
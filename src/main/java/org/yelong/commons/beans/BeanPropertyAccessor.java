@@ -0,0 +1,282 @@
+/**
+ * 
+ */
+package org.yelong.commons.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.yelong.core.annotation.Nullable;
+
+/**
+ * bean 属性的访问器。通过标准的get/is/set方法读写属性值<br/>
+ * 
+ * get/set方法在创建时编译为 {@link Function}/{@link BiConsumer}（通过 {@link LambdaMetafactory}），
+ * 无法编译时（如 bean class 对当前类加载器不可见、方法声明了受检异常）使用 {@link MethodHandle}，读写属性值时不再查找方法、不使用反射调用。
+ * get/set方法抛出的受检异常包装为 {@link IllegalStateException}
+ * 
+ * @see BeanPropertyAccessors
+ * @since 2.2
+ */
+public final class BeanPropertyAccessor {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private final String name;
+
+	private final Class<?> type;
+
+	@Nullable
+	private final Function<Object, Object> getter;
+
+	@Nullable
+	private final BiConsumer<Object, Object> setter;
+
+	@Nullable
+	private final MethodHandle readHandle;
+
+	@Nullable
+	private final MethodHandle writeHandle;
+
+	private final boolean readMethodDeclaresCheckedException;
+
+	private final boolean writeMethodDeclaresCheckedException;
+
+	BeanPropertyAccessor(Class<?> beanClass, String name, Class<?> type, @Nullable Method readMethod,
+			@Nullable Method writeMethod) {
+		this.name = name;
+		this.type = type;
+		this.readHandle = null == readMethod ? null : unreflect(readMethod);
+		this.writeHandle = null == writeMethod ? null : unreflect(writeMethod);
+		this.getter = null == readMethod ? null : createGetter(beanClass, readMethod, readHandle);
+		this.setter = null == writeMethod ? null : createSetter(beanClass, writeMethod, writeHandle);
+		this.readMethodDeclaresCheckedException = null != readMethod && declaresCheckedException(readMethod);
+		this.writeMethodDeclaresCheckedException = null != writeMethod && declaresCheckedException(writeMethod);
+	}
+
+	/**
+	 * @return 属性名称
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return 属性类型
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * @return <tt>true</tt> 存在get/is方法
+	 */
+	public boolean isReadable() {
+		return null != getter;
+	}
+
+	/**
+	 * @return <tt>true</tt> 存在set方法
+	 */
+	public boolean isWritable() {
+		return null != setter;
+	}
+
+	/**
+	 * 获取bean的属性值
+	 * 
+	 * @param bean bean
+	 * @return 属性值
+	 * @throws UnsupportedOperationException 属性不可读
+	 */
+	public Object get(Object bean) {
+		if (null == getter) {
+			throw new UnsupportedOperationException("property is not readable : " + name);
+		}
+		return getter.apply(bean);
+	}
+
+	/**
+	 * 设置bean的属性值
+	 * 
+	 * @param bean  bean
+	 * @param value 属性值
+	 * @throws UnsupportedOperationException 属性不可写
+	 * @throws NullPointerException          属性为基本类型并且属性值为 <code>null</code>
+	 * @throws ClassCastException            属性值的类型与属性类型不匹配
+	 */
+	public void set(Object bean, Object value) {
+		if (null == setter) {
+			throw new UnsupportedOperationException("property is not writable : " + name);
+		}
+		setter.accept(bean, value);
+	}
+
+	/**
+	 * @param value 属性值
+	 * @return <tt>true</tt> 属性值可以直接传入set方法：属性值为属性类型（或基本类型对应的包装类型）的实例，或者为 <code>null</code>
+	 *         并且属性不是基本类型
+	 */
+	boolean isAssignable(@Nullable Object value) {
+		return null == value ? !type.isPrimitive() : wrap(type).isInstance(value);
+	}
+
+	/**
+	 * @return <tt>true</tt> get/is方法声明了受检异常
+	 */
+	boolean isReadMethodDeclaresCheckedException() {
+		return readMethodDeclaresCheckedException;
+	}
+
+	/**
+	 * @return <tt>true</tt> set方法声明了受检异常
+	 */
+	boolean isWriteMethodDeclaresCheckedException() {
+		return writeMethodDeclaresCheckedException;
+	}
+
+	/**
+	 * @return get/is方法的 {@link MethodHandle}，类型为 (bean)propertyType。不可读或无法访问时返回 <code>null</code>
+	 */
+	@Nullable
+	MethodHandle getReadHandle() {
+		return readHandle;
+	}
+
+	/**
+	 * @return set方法的 {@link MethodHandle}，类型为 (bean, propertyType)void。不可写或无法访问时返回
+	 *         <code>null</code>
+	 */
+	@Nullable
+	MethodHandle getWriteHandle() {
+		return writeHandle;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> createGetter(Class<?> beanClass, Method readMethod,
+			@Nullable MethodHandle handle) {
+		if (null == handle) {
+			return bean -> invoke(readMethod, bean);
+		}
+		if (isLambdaSupported(beanClass, readMethod)) {
+			try {
+				CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply",
+						MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+						handle, MethodType.methodType(wrap(readMethod.getReturnType()), beanClass));
+				return (Function<Object, Object>) callSite.getTarget().invokeExact();
+			} catch (Throwable e) {
+				// 使用 MethodHandle
+			}
+		}
+		MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+		return bean -> {
+			try {
+				return getter.invokeExact(bean);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> createSetter(Class<?> beanClass, Method writeMethod,
+			@Nullable MethodHandle handle) {
+		if (null == handle) {
+			return (bean, value) -> invoke(writeMethod, bean, value);
+		}
+		if (isLambdaSupported(beanClass, writeMethod)) {
+			try {
+				CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept",
+						MethodType.methodType(BiConsumer.class),
+						MethodType.methodType(void.class, Object.class, Object.class), handle,
+						MethodType.methodType(void.class, beanClass, wrap(writeMethod.getParameterTypes()[0])));
+				return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+			} catch (Throwable e) {
+				// 使用 MethodHandle
+			}
+		}
+		MethodHandle setter = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		return (bean, value) -> {
+			try {
+				setter.invokeExact(bean, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	/**
+	 * 生成的 lambda 类由当前类的类加载器加载，只有方法是公开的并且 bean class 对当前类加载器可见时才能使用。
+	 * 声明了受检异常的方法不使用 lambda，否则受检异常将不经包装直接抛出
+	 */
+	private static boolean isLambdaSupported(Class<?> beanClass, Method method) {
+		if (!Modifier.isPublic(beanClass.getModifiers())
+				|| !Modifier.isPublic(method.getDeclaringClass().getModifiers()) || declaresCheckedException(method)) {
+			return false;
+		}
+		try {
+			return Class.forName(beanClass.getName(), false,
+					BeanPropertyAccessor.class.getClassLoader()) == beanClass;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	private static boolean declaresCheckedException(Method method) {
+		for (Class<?> exceptionType : method.getExceptionTypes()) {
+			if (!RuntimeException.class.isAssignableFrom(exceptionType)
+					&& !Error.class.isAssignableFrom(exceptionType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	private static MethodHandle unreflect(Method method) {
+		try {
+			return LOOKUP.unreflect(method);
+		} catch (IllegalAccessException e) {
+			try {
+				method.setAccessible(true);
+				return LOOKUP.unreflect(method);
+			} catch (RuntimeException | IllegalAccessException ex) {
+				return null;
+			}
+		}
+	}
+
+	private static Object invoke(Method method, Object bean, Object... args) {
+		try {
+			return method.invoke(bean, args);
+		} catch (InvocationTargetException e) {
+			Throwable target = e.getTargetException();
+			if (target instanceof RuntimeException) {
+				throw (RuntimeException) target;
+			}
+			if (target instanceof Error) {
+				throw (Error) target;
+			}
+			throw new IllegalStateException(target);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static Class<?> wrap(Class<?> type) {
+		return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+	}
+
+}
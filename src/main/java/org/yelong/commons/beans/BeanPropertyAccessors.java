@@ -0,0 +1,98 @@
+/**
+ * 
+ */
+package org.yelong.commons.beans;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.yelong.core.annotation.Nullable;
+
+/**
+ * bean class 的所有属性的访问器<br/>
+ * 
+ * 每个 class 只在第一次使用时通过 {@link Introspector} 解析属性并创建访问器，之后从缓存中获取。缓存以
+ * {@link ClassValue} 保存，不会阻止 class 被卸载
+ * 
+ * @see BeanPropertyAccessor
+ * @since 2.2
+ */
+public final class BeanPropertyAccessors {
+
+	private static final ClassValue<BeanPropertyAccessors> CACHE = new ClassValue<BeanPropertyAccessors>() {
+
+		@Override
+		protected BeanPropertyAccessors computeValue(Class<?> type) {
+			return new BeanPropertyAccessors(type);
+		}
+
+	};
+
+	private final Class<?> beanClass;
+
+	private final Map<String, BeanPropertyAccessor> accessors;
+
+	private BeanPropertyAccessors(Class<?> beanClass) {
+		this.beanClass = beanClass;
+		PropertyDescriptor[] propertyDescriptors;
+		try {
+			propertyDescriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+		} catch (IntrospectionException e) {
+			propertyDescriptors = new PropertyDescriptor[0];
+		}
+		Map<String, BeanPropertyAccessor> accessors = new LinkedHashMap<>(propertyDescriptors.length * 4 / 3 + 1);
+		for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+			Method readMethod = propertyDescriptor.getReadMethod();
+			Method writeMethod = propertyDescriptor.getWriteMethod();
+			if (null != readMethod && readMethod.getDeclaringClass() == Object.class) {
+				readMethod = null;
+			}
+			if (null == readMethod && null == writeMethod || null == propertyDescriptor.getPropertyType()) {
+				continue;
+			}
+			accessors.put(propertyDescriptor.getName(), new BeanPropertyAccessor(beanClass,
+					propertyDescriptor.getName(), propertyDescriptor.getPropertyType(), readMethod, writeMethod));
+		}
+		this.accessors = Collections.unmodifiableMap(accessors);
+	}
+
+	/**
+	 * 获取 bean class 的属性访问器
+	 * 
+	 * @param beanClass bean class
+	 * @return 属性访问器
+	 */
+	public static BeanPropertyAccessors forClass(Class<?> beanClass) {
+		return CACHE.get(beanClass);
+	}
+
+	/**
+	 * @param propertyName 属性名称
+	 * @return 属性的访问器。不存在该属性时返回 <code>null</code>
+	 */
+	@Nullable
+	public BeanPropertyAccessor getAccessor(String propertyName) {
+		return accessors.get(propertyName);
+	}
+
+	/**
+	 * @return 所有属性的访问器
+	 */
+	public Collection<BeanPropertyAccessor> getAccessors() {
+		return accessors.values();
+	}
+
+	/**
+	 * @return bean class
+	 */
+	public Class<?> getBeanClass() {
+		return beanClass;
+	}
+
+}
@@ -0,0 +1,316 @@
+/**
+ * 
+ */
+package org.yelong.commons.beans;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.yelong.core.annotation.Nullable;
+
+/**
+ * bean 属性路径。支持嵌套属性与索引属性，如：
+ * 
+ * <pre>
+ * owner.address.city
+ * items[3].price
+ * attributes[name] 或 attributes['a.b']
+ * </pre>
+ * 
+ * 路径在 {@link #compile(String)} 时解析为节点链并缓存（最多缓存 {@value #MAX_CACHE_SIZE} 个路径），之后同一路径在多个bean上求值时不再解析。
+ * 节点只保存属性名称与索引，属性的访问器从 {@link BeanPropertyAccessors} 中获取（以 {@link ClassValue} 缓存），路径缓存不会持有
+ * bean class<br/>
+ * 
+ * 对象为 {@link Map} 时属性名称作为key，对象为 {@link List} 或数组时 [] 中的整数作为索引
+ * 
+ * @see BeanUtils#getPropertyByPath(Object, String)
+ * @see BeanUtils#setPropertyByPath(Object, String, Object)
+ * @since 2.2
+ */
+public final class BeanPropertyPath {
+
+	/**
+	 * 缓存的路径数量上限。超过该数量时清空缓存，避免动态拼接的路径（如 "items[" + i + "].price"）使缓存无限增长
+	 */
+	static final int MAX_CACHE_SIZE = 1024;
+
+	private static final ConcurrentMap<String, BeanPropertyPath> CACHE = new ConcurrentHashMap<>();
+
+	private final String path;
+
+	private final Node[] nodes;
+
+	private BeanPropertyPath(String path) {
+		this.path = path;
+		this.nodes = parse(path);
+	}
+
+	/**
+	 * 编译属性路径
+	 * 
+	 * @param path 属性路径
+	 * @return 属性路径
+	 * @throws IllegalArgumentException 路径格式不正确
+	 */
+	public static BeanPropertyPath compile(String path) {
+		Objects.requireNonNull(path);
+		BeanPropertyPath propertyPath = CACHE.get(path);
+		if (null == propertyPath) {
+			if (CACHE.size() >= MAX_CACHE_SIZE) {
+				CACHE.clear();
+			}
+			propertyPath = CACHE.computeIfAbsent(path, BeanPropertyPath::new);
+		}
+		return propertyPath;
+	}
+
+	/**
+	 * 获取属性值。路径中任意一个节点的值为 <code>null</code> 时返回 <code>null</code>
+	 * 
+	 * @param bean bean
+	 * @return 属性值
+	 * @throws NoSuchMethodException     没有对应的get/is方法
+	 * @throws IndexOutOfBoundsException 索引越界
+	 */
+	@Nullable
+	public Object get(@Nullable Object bean) throws NoSuchMethodException {
+		Object value = bean;
+		for (Node node : nodes) {
+			if (null == value) {
+				return null;
+			}
+			value = node.get(value);
+		}
+		return value;
+	}
+
+	/**
+	 * 设置属性值
+	 * 
+	 * @param bean  bean
+	 * @param value 属性值
+	 * @throws NoSuchMethodException     没有对应的get/is/set方法
+	 * @throws NullPointerException      bean或路径中间节点的值为 <code>null</code>
+	 * @throws IndexOutOfBoundsException 索引越界
+	 */
+	public void set(Object bean, @Nullable Object value) throws NoSuchMethodException {
+		Objects.requireNonNull(bean);
+		Object target = bean;
+		int last = nodes.length - 1;
+		for (int i = 0; i < last; i++) {
+			target = nodes[i].get(target);
+			if (null == target) {
+				throw new NullPointerException(
+						"property path '" + path + "' is null at '" + nodes[i].getExpression() + "'");
+			}
+		}
+		nodes[last].set(target, value);
+	}
+
+	/**
+	 * @return 属性路径
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+	private static Node[] parse(String path) {
+		List<Node> nodes = new ArrayList<>();
+		int length = path.length();
+		int i = 0;
+		while (i < length) {
+			char c = path.charAt(i);
+			if (c == '[') {
+				int end = path.indexOf(']', i);
+				if (end < 0) {
+					throw invalidPath(path);
+				}
+				String key = path.substring(i + 1, end).trim();
+				if (key.length() >= 2 && (key.charAt(0) == '\'' || key.charAt(0) == '"')
+						&& key.charAt(key.length() - 1) == key.charAt(0)) {
+					nodes.add(new KeyNode(key.substring(1, key.length() - 1), -1));
+				} else if (key.isEmpty()) {
+					throw invalidPath(path);
+				} else {
+					nodes.add(new KeyNode(key, parseIndex(key)));
+				}
+				i = end + 1;
+				if (i < length && path.charAt(i) == '.') {
+					i++;
+					if (i == length) {
+						throw invalidPath(path);
+					}
+				} else if (i < length && path.charAt(i) != '[') {
+					// 如 items[0]price
+					throw invalidPath(path);
+				}
+			} else {
+				int end = i;
+				while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+					end++;
+				}
+				if (end == i) {
+					throw invalidPath(path);
+				}
+				nodes.add(new PropertyNode(path.substring(i, end)));
+				i = end;
+				if (i < length && path.charAt(i) == '.') {
+					i++;
+					if (i == length) {
+						throw invalidPath(path);
+					}
+				}
+			}
+		}
+		if (nodes.isEmpty()) {
+			throw invalidPath(path);
+		}
+		return nodes.toArray(new Node[nodes.size()]);
+	}
+
+	private static int parseIndex(String key) {
+		for (int i = 0; i < key.length(); i++) {
+			if (!Character.isDigit(key.charAt(i))) {
+				return -1;
+			}
+		}
+		try {
+			return Integer.parseInt(key);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static IllegalArgumentException invalidPath(String path) {
+		return new IllegalArgumentException("invalid property path : " + path);
+	}
+
+	private interface Node {
+
+		Object get(Object target) throws NoSuchMethodException;
+
+		void set(Object target, Object value) throws NoSuchMethodException;
+
+		String getExpression();
+
+	}
+
+	/**
+	 * 属性节点：bean的属性或map的key
+	 */
+	private static final class PropertyNode implements Node {
+
+		private final String name;
+
+		PropertyNode(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Object get(Object target) throws NoSuchMethodException {
+			if (target instanceof Map) {
+				return ((Map<?, ?>) target).get(name);
+			}
+			BeanPropertyAccessor accessor = getAccessor(target.getClass());
+			if (null == accessor || !accessor.isReadable()) {
+				return BeanUtilsE.getProperty(target, name);
+			}
+			return accessor.get(target);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void set(Object target, Object value) throws NoSuchMethodException {
+			if (target instanceof Map) {
+				((Map<Object, Object>) target).put(name, value);
+				return;
+			}
+			BeanPropertyAccessor accessor = getAccessor(target.getClass());
+			if (null == accessor || !accessor.isWritable()) {
+				BeanUtilsE.setProperty(target, name, value);
+				return;
+			}
+			accessor.set(target, value);
+		}
+
+		@Nullable
+		private BeanPropertyAccessor getAccessor(Class<?> type) {
+			return BeanPropertyAccessors.forClass(type).getAccessor(name);
+		}
+
+		@Override
+		public String getExpression() {
+			return name;
+		}
+
+	}
+
+	/**
+	 * 索引节点：list、数组的索引或map的key
+	 */
+	private static final class KeyNode implements Node {
+
+		private final String key;
+
+		private final int index;
+
+		KeyNode(String key, int index) {
+			this.key = key;
+			this.index = index;
+		}
+
+		@Override
+		public Object get(Object target) {
+			if (target instanceof Map) {
+				return ((Map<?, ?>) target).get(key);
+			}
+			if (target instanceof List) {
+				return ((List<?>) target).get(requireIndex());
+			}
+			if (target.getClass().isArray()) {
+				return Array.get(target, requireIndex());
+			}
+			throw new IllegalArgumentException(
+					"'" + getExpression() + "' is not applicable to " + target.getClass().getName());
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void set(Object target, Object value) {
+			if (target instanceof Map) {
+				((Map<Object, Object>) target).put(key, value);
+			} else if (target instanceof List) {
+				((List<Object>) target).set(requireIndex(), value);
+			} else if (target.getClass().isArray()) {
+				Array.set(target, requireIndex(), value);
+			} else {
+				throw new IllegalArgumentException(
+						"'" + getExpression() + "' is not applicable to " + target.getClass().getName());
+			}
+		}
+
+		private int requireIndex() {
+			if (index < 0) {
+				throw new IllegalArgumentException("'" + getExpression() + "' is not an index");
+			}
+			return index;
+		}
+
+		@Override
+		public String getExpression() {
+			return "[" + key + "]";
+		}
+
+	}
+
+}
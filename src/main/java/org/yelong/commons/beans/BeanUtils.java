@@ -4,7 +4,15 @@
 package org.yelong.commons.beans;
 
 /**
- * bean 工具类
+ * bean 工具类<br/>
+ * 
+ * 属性的读写通过 {@link BeanPropertyAccessors} 中缓存的访问器进行。以下情况使用 {@link BeanUtilsE}，抛出的异常与
+ * {@link BeanUtilsE} 相同：<br/>
+ * 1、不存在对应的访问器<br/>
+ * 2、设置的属性值类型与属性类型不匹配，或者基本类型的属性值为 <code>null</code><br/>
+ * 3、get/set方法声明了受检异常<br/>
+ * 
+ * 注意：get/set方法自身抛出的非受检异常直接抛出，不再经过 {@link BeanUtilsE} 的处理
  * 
  * @see BeanUtilsE
  * @deprecated 冲突的类命名
@@ -21,6 +29,12 @@ public class BeanUtils {
 	 * @throws NoSuchMethodException 没有对应的get/is方法
 	 */
 	public static Object getProperty(Object bean, String propertyName) throws NoSuchMethodException {
+		if (null != bean) {
+			BeanPropertyAccessor accessor = BeanPropertyAccessors.forClass(bean.getClass()).getAccessor(propertyName);
+			if (null != accessor && accessor.isReadable() && !accessor.isReadMethodDeclaresCheckedException()) {
+				return accessor.get(bean);
+			}
+		}
 		return BeanUtilsE.getProperty(bean, propertyName);
 	}
 
@@ -33,7 +47,44 @@ public class BeanUtils {
 	 * @throws NoSuchMethodException 没有对应的set方法
 	 */
 	public static void setProperty(Object bean, String propertyName, Object value) throws NoSuchMethodException {
-		BeanUtils.setProperty(bean, propertyName, value);
+		if (null != bean) {
+			BeanPropertyAccessor accessor = BeanPropertyAccessors.forClass(bean.getClass()).getAccessor(propertyName);
+			if (null != accessor && accessor.isWritable() && accessor.isAssignable(value)
+					&& !accessor.isWriteMethodDeclaresCheckedException()) {
+				accessor.set(bean, value);
+				return;
+			}
+		}
+		BeanUtilsE.setProperty(bean, propertyName, value);
+	}
+
+	/**
+	 * 获取bean属性路径的值。支持嵌套属性与索引属性，如 owner.address.city、items[3].price。
+	 * 路径中任意一个节点的值为 <code>null</code> 时返回 <code>null</code>
+	 * 
+	 * @param bean         bean
+	 * @param propertyPath 属性路径
+	 * @return bean->propertyPath value
+	 * @throws NoSuchMethodException 没有对应的get/is方法
+	 * @see BeanPropertyPath
+	 */
+	public static Object getPropertyByPath(Object bean, String propertyPath) throws NoSuchMethodException {
+		return BeanPropertyPath.compile(propertyPath).get(bean);
+	}
+
+	/**
+	 * 设置bean属性路径的值。支持嵌套属性与索引属性，如 owner.address.city、items[3].price
+	 * 
+	 * @param bean         bean
+	 * @param propertyPath 属性路径
+	 * @param value        propertyPath -> value
+	 * @throws NoSuchMethodException 没有对应的get/is/set方法
+	 * @throws NullPointerException  路径中间节点的值为 <code>null</code>
+	 * @see BeanPropertyPath
+	 */
+	public static void setPropertyByPath(Object bean, String propertyPath, Object value)
+			throws NoSuchMethodException {
+		BeanPropertyPath.compile(propertyPath).set(bean, value);
 	}
 
 }
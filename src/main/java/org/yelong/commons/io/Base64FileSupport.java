@@ -0,0 +1,317 @@
+/**
+ * 
+ */
+package org.yelong.commons.io;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * base64 与文件之间的流式转换（解码与编码）。使用固定大小的缓冲区，内存占用与文件大小无关
+ * 
+ * @since 2.2
+ */
+final class Base64FileSupport {
+
+	static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * 编码时每次读取的字节数。必须是 3 的倍数，使每一段编码结果不含填充字符，可以直接拼接
+	 */
+	static final int ENCODE_CHUNK_SIZE = 3 * 4096;
+
+	/**
+	 * 内存映射时每次映射的区域大小。必须是 {@link #ENCODE_CHUNK_SIZE} 的倍数
+	 */
+	static final long MAPPED_REGION_SIZE = ENCODE_CHUNK_SIZE * 1024L;
+
+	private static final byte[] DATA_URI_SCHEME = "data:".getBytes(StandardCharsets.US_ASCII);
+
+	private Base64FileSupport() {
+	}
+
+	/**
+	 * 将 base64 流解码并写入新创建的文件。解码失败时删除已创建的文件，无论成功与否都会关闭 base64 流<br/>
+	 * 
+	 * 解码器逐字节读取输入，因此输入流先包装为 {@link BufferedInputStream}，避免每个字节都读取一次底层的流或通道。
+	 * 空白字符（空格、制表符、换行）被忽略，其他不属于 base64 字母表的字符解码失败
+	 */
+	static File decodeToFile(InputStream base64, boolean stripDataUri, String... filename) throws IOException {
+		Objects.requireNonNull(base64);
+		try (InputStream in = new BufferedInputStream(base64, BUFFER_SIZE)) {
+			return decodeToFile(stripDataUri ? skipDataUriPrefix(in) : in, filename);
+		}
+	}
+
+	private static File decodeToFile(InputStream in, String... filename) throws IOException {
+		File file = FileUtilsE.createNewFile(filename);
+		boolean completed = false;
+		try (InputStream decoder = Base64.getDecoder().wrap(new WhitespaceSkippingInputStream(in));
+				FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+			int n;
+			while ((n = decoder.read(buffer)) != -1) {
+				byteBuffer.clear().limit(n);
+				while (byteBuffer.hasRemaining()) {
+					channel.write(byteBuffer);
+				}
+			}
+			completed = true;
+		} catch (IllegalArgumentException e) {
+			throw new IOException("illegal base64 content", e);
+		} finally {
+			if (!completed) {
+				file.delete();
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * 将文件编码为 base64 并分段写入 sink。每一段读取 {@link #ENCODE_CHUNK_SIZE} 字节，读取与编码的数组重复使用
+	 * 
+	 * @param memoryMapped 是否通过内存映射读取文件
+	 */
+	static void encodeFile(File file, boolean memoryMapped, EncodedSink sink) throws IOException {
+		Objects.requireNonNull(file);
+		Base64.Encoder encoder = Base64.getEncoder();
+		byte[] src = new byte[ENCODE_CHUNK_SIZE];
+		byte[] dst = new byte[ENCODE_CHUNK_SIZE / 3 * 4];
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			int length = memoryMapped ? encodeMapped(channel, encoder, src, dst, sink)
+					: encodeStreamed(channel, encoder, src, dst, sink);
+			if (length > 0) {
+				int n = encoder.encode(Arrays.copyOf(src, length), dst);
+				sink.write(dst, n);
+			}
+		}
+	}
+
+	/**
+	 * @return src 中剩余未编码的字节数（最后一段）
+	 */
+	private static int encodeStreamed(FileChannel channel, Base64.Encoder encoder, byte[] src, byte[] dst,
+			EncodedSink sink) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(src);
+		while (true) {
+			buffer.clear();
+			while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+			}
+			if (buffer.hasRemaining()) {
+				return buffer.position();
+			}
+			int n = encoder.encode(src, dst);
+			sink.write(dst, n);
+		}
+	}
+
+	/**
+	 * @return src 中剩余未编码的字节数（最后一段）
+	 */
+	private static int encodeMapped(FileChannel channel, Base64.Encoder encoder, byte[] src, byte[] dst,
+			EncodedSink sink) throws IOException {
+		long size = channel.size();
+		long position = 0;
+		while (position < size) {
+			long regionSize = Math.min(MAPPED_REGION_SIZE, size - position);
+			MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+			while (region.remaining() >= src.length) {
+				region.get(src);
+				int n = encoder.encode(src, dst);
+				sink.write(dst, n);
+			}
+			position += regionSize;
+			if (region.hasRemaining()) {
+				// 区域大小是 ENCODE_CHUNK_SIZE 的倍数，只有最后一个区域会有剩余
+				int length = region.remaining();
+				region.get(src, 0, length);
+				return length;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * base64 编码结果的输出
+	 */
+	@FunctionalInterface
+	interface EncodedSink {
+
+		/**
+		 * @param encoded 编码后的字节（ASCII）
+		 * @param length  有效长度
+		 */
+		void write(byte[] encoded, int length) throws IOException;
+
+		static EncodedSink of(OutputStream out) {
+			Objects.requireNonNull(out);
+			return (encoded, length) -> out.write(encoded, 0, length);
+		}
+
+		static EncodedSink of(Writer writer) {
+			Objects.requireNonNull(writer);
+			char[] chars = new char[ENCODE_CHUNK_SIZE / 3 * 4];
+			return (encoded, length) -> {
+				for (int i = 0; i < length; i++) {
+					chars[i] = (char) encoded[i];
+				}
+				writer.write(chars, 0, length);
+			};
+		}
+
+	}
+
+	/**
+	 * 如果流以 "data:" 开头，则跳过 ',' 及其之前的内容（如 data:image/png;base64,）
+	 */
+	static InputStream skipDataUriPrefix(InputStream in) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(in, DATA_URI_SCHEME.length);
+		byte[] head = new byte[DATA_URI_SCHEME.length];
+		int length = 0;
+		int n;
+		while (length < head.length && (n = pushback.read(head, length, head.length - length)) != -1) {
+			length += n;
+		}
+		boolean dataUri = length == head.length;
+		for (int i = 0; dataUri && i < head.length; i++) {
+			dataUri = Character.toLowerCase(head[i]) == DATA_URI_SCHEME[i];
+		}
+		if (!dataUri) {
+			pushback.unread(head, 0, length);
+			return pushback;
+		}
+		int b;
+		while ((b = pushback.read()) != ',') {
+			if (b == -1) {
+				throw new IOException("illegal data uri : missing ','");
+			}
+		}
+		return pushback;
+	}
+
+	/**
+	 * 以 US-ASCII 读取字符序列的输入流，不复制字符序列
+	 */
+	static final class CharSequenceInputStream extends InputStream {
+
+		private final CharSequence chars;
+
+		private int position;
+
+		CharSequenceInputStream(CharSequence chars) {
+			this.chars = Objects.requireNonNull(chars);
+		}
+
+		@Override
+		public int read() {
+			return position < chars.length() ? toByte(chars.charAt(position++)) : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			Objects.requireNonNull(b);
+			if (off < 0 || len < 0 || len > b.length - off) {
+				throw new IndexOutOfBoundsException();
+			}
+			if (len == 0) {
+				return 0;
+			}
+			int remaining = chars.length() - position;
+			if (remaining <= 0) {
+				return -1;
+			}
+			int n = Math.min(len, remaining);
+			for (int i = 0; i < n; i++) {
+				b[off + i] = (byte) toByte(chars.charAt(position++));
+			}
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return Math.max(0, chars.length() - position);
+		}
+
+		/**
+		 * 非 ASCII 字符不属于 base64 字母表，转换为 '?' 使解码失败
+		 */
+		private static int toByte(char c) {
+			return c < 0x80 ? c : '?';
+		}
+
+	}
+
+	/**
+	 * 跳过空白字符（空格、制表符、换行）的输入流。base64 码中常见按行分隔的内容，标准的解码器不接受这些字符
+	 */
+	static final class WhitespaceSkippingInputStream extends FilterInputStream {
+
+		WhitespaceSkippingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b;
+			do {
+				b = in.read();
+			} while (isWhitespace(b));
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			while (true) {
+				int n = in.read(b, off, len);
+				if (n <= 0) {
+					return n;
+				}
+				int length = 0;
+				for (int i = 0; i < n; i++) {
+					if (!isWhitespace(b[off + i])) {
+						b[off + length++] = b[off + i];
+					}
+				}
+				if (length > 0) {
+					return length;
+				}
+			}
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = 0;
+			while (skipped < n && read() != -1) {
+				skipped++;
+			}
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		private static boolean isWhitespace(int b) {
+			return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+		}
+
+	}
+
+}
@@ -6,6 +6,11 @@ package org.yelong.commons.io;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 /**
  * 文件工具类。
@@ -37,6 +42,115 @@ public class FileUtils {
 		return FileUtilsE.base64ConvertFile(base64, filename);
 	}
 
+	/**
+	 * 将 base64码转换为文件。以固定大小的缓冲区分段解码，内存占用与文件大小无关。 base64码中的空白字符（空格、换行等）将被忽略
+	 * 
+	 * @param base64       base64码
+	 * @param stripDataUri 是否去除 data URI 前缀（如 data:image/png;base64,）
+	 * @param filename     names the name elements
+	 * @return the file
+	 * @throws IOException 如果这个文件已经存在或者 base64码不正确（包含 base64 字母表以外的非空白字符）
+	 * @since 2.2
+	 */
+	public static File base64ConvertFile(CharSequence base64, boolean stripDataUri, String... filename)
+			throws IOException {
+		return Base64FileSupport.decodeToFile(new Base64FileSupport.CharSequenceInputStream(base64), stripDataUri,
+				filename);
+	}
+
+	/**
+	 * 将 base64流转换为文件。以固定大小的缓冲区流式解码，内存占用与文件大小无关。 base64码中的空白字符将被忽略，流在转换结束（包括失败）后关闭
+	 * 
+	 * @param base64   base64流
+	 * @param filename names the name elements
+	 * @return the file
+	 * @throws IOException 如果这个文件已经存在或者 base64码不正确（包含 base64 字母表以外的非空白字符）
+	 * @since 2.2
+	 */
+	public static File base64ConvertFile(InputStream base64, String... filename) throws IOException {
+		return base64ConvertFile(base64, false, filename);
+	}
+
+	/**
+	 * 将 base64流转换为文件。以固定大小的缓冲区流式解码，内存占用与文件大小无关。 base64码中的空白字符将被忽略，流在转换结束（包括失败）后关闭
+	 * 
+	 * @param base64       base64流
+	 * @param stripDataUri 是否去除 data URI 前缀（如 data:image/png;base64,）
+	 * @param filename     names the name elements
+	 * @return the file
+	 * @throws IOException 如果这个文件已经存在或者 base64码不正确（包含 base64 字母表以外的非空白字符）
+	 * @since 2.2
+	 */
+	public static File base64ConvertFile(InputStream base64, boolean stripDataUri, String... filename)
+			throws IOException {
+		return Base64FileSupport.decodeToFile(base64, stripDataUri, filename);
+	}
+
+	/**
+	 * 将 base64通道转换为文件。以固定大小的缓冲区流式解码，内存占用与文件大小无关。 base64码中的空白字符将被忽略，通道在转换结束（包括失败）后关闭
+	 * 
+	 * @param base64       base64通道
+	 * @param stripDataUri 是否去除 data URI 前缀（如 data:image/png;base64,）
+	 * @param filename     names the name elements
+	 * @return the file
+	 * @throws IOException 如果这个文件已经存在或者 base64码不正确（包含 base64 字母表以外的非空白字符）
+	 * @since 2.2
+	 */
+	public static File base64ConvertFile(ReadableByteChannel base64, boolean stripDataUri, String... filename)
+			throws IOException {
+		return Base64FileSupport.decodeToFile(Channels.newInputStream(base64), stripDataUri, filename);
+	}
+
+	/**
+	 * 将文件转换为 base64码并写入输出流。分段读取并编码，内存占用与文件大小无关。 输出流不会被关闭
+	 * 
+	 * @param file 文件
+	 * @param out  base64码的输出流
+	 * @throws IOException 读取文件或写入失败
+	 * @since 2.2
+	 */
+	public static void fileConvertBase64(File file, OutputStream out) throws IOException {
+		fileConvertBase64(file, out, false);
+	}
+
+	/**
+	 * 将文件转换为 base64码并写入输出流。分段读取并编码，内存占用与文件大小无关。 输出流不会被关闭
+	 * 
+	 * @param file         文件
+	 * @param out          base64码的输出流
+	 * @param memoryMapped 是否通过内存映射读取文件，适用于大文件
+	 * @throws IOException 读取文件或写入失败
+	 * @since 2.2
+	 */
+	public static void fileConvertBase64(File file, OutputStream out, boolean memoryMapped) throws IOException {
+		Base64FileSupport.encodeFile(file, memoryMapped, Base64FileSupport.EncodedSink.of(out));
+	}
+
+	/**
+	 * 将文件转换为 base64码并写入字符流。分段读取并编码，内存占用与文件大小无关。 字符流不会被关闭
+	 * 
+	 * @param file   文件
+	 * @param writer base64码的字符流
+	 * @throws IOException 读取文件或写入失败
+	 * @since 2.2
+	 */
+	public static void fileConvertBase64(File file, Writer writer) throws IOException {
+		fileConvertBase64(file, writer, false);
+	}
+
+	/**
+	 * 将文件转换为 base64码并写入字符流。分段读取并编码，内存占用与文件大小无关。 字符流不会被关闭
+	 * 
+	 * @param file         文件
+	 * @param writer       base64码的字符流
+	 * @param memoryMapped 是否通过内存映射读取文件，适用于大文件
+	 * @throws IOException 读取文件或写入失败
+	 * @since 2.2
+	 */
+	public static void fileConvertBase64(File file, Writer writer, boolean memoryMapped) throws IOException {
+		Base64FileSupport.encodeFile(file, memoryMapped, Base64FileSupport.EncodedSink.of(writer));
+	}
+
 	/**
 	 * 获取文件的创建时间
 	 * 
@@ -0,0 +1,162 @@
+/**
+ * 
+ */
+package org.yelong.core.jdbc.datasource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yelong.core.model.service.SqlModelServiceAdapter;
+
+/**
+ * 读写分离的数据源<br/>
+ * 
+ * 只读事务（如 {@link SqlModelServiceAdapter} 中的 find*、count*、exist* 方法）轮询使用从库的数据源，其他情况使用主库的数据源：<br/>
+ * 1、在读写事务中执行的查询使用主库（只读方法加入外层的读写事务时仍然使用主库的连接）<br/>
+ * 2、开启了写后读一致的时间窗口时，当前线程的读写事务结束（提交）后的时间窗口内的只读事务也使用主库。
+ * 时间窗口从事务结束时开始计算，执行时间超过时间窗口的事务结束后仍然会使用主库<br/>
+ * 
+ * 注意：事务管理器在设置只读标识之前获取连接，该数据源需要使用 {@link LazyConnectionDataSourceProxy}
+ * 包装后再提供给事务管理器与 MyBatis，使连接在第一次执行SQL时才获取
+ * 
+ * <pre>
+ * new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas, 0, TimeUnit.MILLISECONDS))
+ * </pre>
+ * 
+ * @since 2.2
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	/**
+	 * 主库数据源的键
+	 */
+	public static final String PRIMARY = "primary";
+
+	/**
+	 * 从库数据源的键的前缀。第 i 个从库的键为该前缀加 i
+	 */
+	public static final String REPLICA_PREFIX = "replica-";
+
+	private final List<String> replicaKeys;
+
+	private final AtomicInteger counter = new AtomicInteger();
+
+	private final long readYourWritesNanos;
+
+	private final ThreadLocal<Long> lastWriteTime = new ThreadLocal<>();
+
+	/**
+	 * 读写事务中绑定的资源的键，标识当前事务已经注册了记录写入时间的事务同步
+	 */
+	private final Object writeTransactionKey = new Object();
+
+	/**
+	 * @param primary              主库数据源
+	 * @param replicas             从库数据源。为空时所有的操作均使用主库
+	 * @param readYourWritesWindow 写后读一致的时间窗口。小于等于0时不开启
+	 * @param timeUnit             时间窗口的单位
+	 */
+	public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+			long readYourWritesWindow, TimeUnit timeUnit) {
+		Objects.requireNonNull(primary, "primary");
+		Map<Object, Object> targetDataSources = new HashMap<>();
+		targetDataSources.put(PRIMARY, primary);
+		List<String> replicaKeys = new ArrayList<>(replicas.size());
+		for (int i = 0; i < replicas.size(); i++) {
+			String replicaKey = REPLICA_PREFIX + i;
+			targetDataSources.put(replicaKey, Objects.requireNonNull(replicas.get(i), replicaKey));
+			replicaKeys.add(replicaKey);
+		}
+		this.replicaKeys = Collections.unmodifiableList(replicaKeys);
+		this.readYourWritesNanos = readYourWritesWindow <= 0 ? 0 : timeUnit.toNanos(readYourWritesWindow);
+		setTargetDataSources(targetDataSources);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (readYourWritesNanos > 0 && TransactionSynchronizationManager.isActualTransactionActive()) {
+				recordWriteTransaction();
+			}
+			return PRIMARY;
+		}
+		if (replicaKeys.isEmpty() || isInReadYourWritesWindow()) {
+			return PRIMARY;
+		}
+		return replicaKeys.get(Math.floorMod(counter.getAndIncrement(), replicaKeys.size()));
+	}
+
+	/**
+	 * 在读写事务第一次获取连接时注册事务同步，事务结束后记录写入时间。事务回滚时不记录
+	 */
+	private void recordWriteTransaction() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			lastWriteTime.set(System.nanoTime());
+			return;
+		}
+		if (TransactionSynchronizationManager.hasResource(writeTransactionKey)) {
+			return;
+		}
+		TransactionSynchronizationManager.bindResource(writeTransactionKey, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			@Override
+			public void suspend() {
+				// 挂起后开启的新事务需要注册自己的事务同步
+				TransactionSynchronizationManager.unbindResourceIfPossible(writeTransactionKey);
+			}
+
+			@Override
+			public void resume() {
+				TransactionSynchronizationManager.bindResource(writeTransactionKey, Boolean.TRUE);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(writeTransactionKey);
+				if (status != TransactionSynchronization.STATUS_ROLLED_BACK) {
+					lastWriteTime.set(System.nanoTime());
+				}
+			}
+
+		});
+	}
+
+	private boolean isInReadYourWritesWindow() {
+		if (readYourWritesNanos <= 0) {
+			return false;
+		}
+		Long writeTime = lastWriteTime.get();
+		if (null == writeTime) {
+			return false;
+		}
+		if (System.nanoTime() - writeTime < readYourWritesNanos) {
+			return true;
+		}
+		lastWriteTime.remove();
+		return false;
+	}
+
+	/**
+	 * @return 从库数据源的键
+	 */
+	public List<String> getReplicaKeys() {
+		return replicaKeys;
+	}
+
+}
@@ -0,0 +1,250 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.yelong.core.annotation.Nullable;
+import org.yelong.core.jdbc.sql.condition.ConditionSqlFragment;
+import org.yelong.core.jdbc.sql.sort.SortSqlFragment;
+import org.yelong.core.model.Modelable;
+
+/**
+ * {@link SqlModelServiceAdapter} 查询方法的异步版本<br/>
+ * 
+ * 用于一个请求需要执行多个相互独立的查询的场景，各个查询在 executor 中并发执行。
+ * 同时执行的查询数量不超过 maxConcurrency，以免占满数据库连接池。超过该数量的查询在队列中等待，
+ * 有查询执行结束后才提交到 executor，等待的查询不占用 executor 的线程，也不阻塞调用者<br/>
+ * 
+ * 注意：每个查询在 executor 的线程中执行，使用各自的事务与数据库连接，不会加入调用者当前的事务。
+ * JDK 21 及以上版本可以使用虚拟线程的 executor（<code>Executors.newVirtualThreadPerTaskExecutor()</code>）
+ * 
+ * @since 2.2
+ */
+public class AsyncSqlModelServiceAdapter {
+
+	private final SqlModelServiceAdapter sqlModelServiceAdapter;
+
+	private final Executor executor;
+
+	private final Semaphore bulkhead;
+
+	/**
+	 * 等待执行的查询
+	 */
+	private final Queue<Task<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param sqlModelServiceAdapter 执行查询的adapter。应为开启了事务代理的实例
+	 * @param executor               执行查询的 executor
+	 * @param maxConcurrency         同时执行的查询数量上限。通常不应超过数据库连接池的大小
+	 */
+	public AsyncSqlModelServiceAdapter(SqlModelServiceAdapter sqlModelServiceAdapter, Executor executor,
+			int maxConcurrency) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("maxConcurrency must be greater than 0 : " + maxConcurrency);
+		}
+		this.sqlModelServiceAdapter = Objects.requireNonNull(sqlModelServiceAdapter, "sqlModelServiceAdapter");
+		this.executor = Objects.requireNonNull(executor, "executor");
+		this.bulkhead = new Semaphore(maxConcurrency);
+	}
+
+	// ==================================================count==================================================
+
+	/**
+	 * @see SqlModelServiceAdapter#countAll(Class)
+	 */
+	public CompletableFuture<Long> countAll(Class<? extends Modelable> modelClass) {
+		return supplyAsync(() -> sqlModelServiceAdapter.countAll(modelClass));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#countById(Class, Object)
+	 */
+	public CompletableFuture<Long> countById(Class<? extends Modelable> modelClass, Object id) {
+		return supplyAsync(() -> sqlModelServiceAdapter.countById(modelClass, id));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#countByIds(Class, Object[])
+	 */
+	public CompletableFuture<Long> countByIds(Class<? extends Modelable> modelClass, Object[] ids) {
+		return supplyAsync(() -> sqlModelServiceAdapter.countByIds(modelClass, ids));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#countByCondition(Class, ConditionSqlFragment)
+	 */
+	public CompletableFuture<Long> countByCondition(Class<? extends Modelable> modelClass,
+			ConditionSqlFragment conditionSqlFragment) {
+		return supplyAsync(() -> sqlModelServiceAdapter.countByCondition(modelClass, conditionSqlFragment));
+	}
+
+	// ==================================================exist==================================================
+
+	/**
+	 * @see SqlModelServiceAdapter#existById(Class, Object)
+	 */
+	public CompletableFuture<Boolean> existById(Class<? extends Modelable> modelClass, Object id) {
+		return supplyAsync(() -> sqlModelServiceAdapter.existById(modelClass, id));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#existByIds(Class, Object[])
+	 */
+	public CompletableFuture<Boolean> existByIds(Class<? extends Modelable> modelClass, Object[] ids) {
+		return supplyAsync(() -> sqlModelServiceAdapter.existByIds(modelClass, ids));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#existByCondition(Class, ConditionSqlFragment)
+	 */
+	public CompletableFuture<Boolean> existByCondition(Class<? extends Modelable> modelClass,
+			ConditionSqlFragment conditionSqlFragment) {
+		return supplyAsync(() -> sqlModelServiceAdapter.existByCondition(modelClass, conditionSqlFragment));
+	}
+
+	// ==================================================find==================================================
+
+	/**
+	 * @see SqlModelServiceAdapter#findAll(Class)
+	 */
+	public <M extends Modelable> CompletableFuture<List<M>> findAll(Class<M> modelClass) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findAll(modelClass));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findById(Class, Object)
+	 */
+	public <M extends Modelable> CompletableFuture<M> findById(Class<M> modelClass, Object id) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findById(modelClass, id));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findByIds(Class, Object[])
+	 */
+	public <M extends Modelable> CompletableFuture<List<M>> findByIds(Class<M> modelClass, Object[] ids) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findByIds(modelClass, ids));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findByCondition(Class, ConditionSqlFragment)
+	 */
+	public <M extends Modelable> CompletableFuture<List<M>> findByCondition(Class<M> modelClass,
+			ConditionSqlFragment conditionSqlFragment) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findByCondition(modelClass, conditionSqlFragment));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findFirstByCondition(Class, ConditionSqlFragment)
+	 */
+	public <M extends Modelable> CompletableFuture<M> findFirstByCondition(Class<M> modelClass,
+			ConditionSqlFragment conditionSqlFragment) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findFirstByCondition(modelClass, conditionSqlFragment));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findByConditionSort(Class, ConditionSqlFragment,
+	 *      SortSqlFragment)
+	 */
+	public <M extends Modelable> CompletableFuture<List<M>> findByConditionSort(Class<M> modelClass,
+			ConditionSqlFragment conditionSqlFragment, SortSqlFragment sortSqlFragment) {
+		return supplyAsync(
+				() -> sqlModelServiceAdapter.findByConditionSort(modelClass, conditionSqlFragment, sortSqlFragment));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findPageByConditionSort(Class,
+	 *      ConditionSqlFragment, SortSqlFragment, Integer, Integer)
+	 */
+	public <M extends Modelable> CompletableFuture<List<M>> findPageByConditionSort(Class<M> modelClass,
+			ConditionSqlFragment conditionSqlFragment, SortSqlFragment sortSqlFragment, Integer pageNum,
+			Integer pageSize) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findPageByConditionSort(modelClass, conditionSqlFragment,
+				sortSqlFragment, pageNum, pageSize));
+	}
+
+	/**
+	 * @see SqlModelServiceAdapter#findPageResultByConditionSort(Class,
+	 *      ConditionSqlFragment, SortSqlFragment, int, int, Long)
+	 */
+	public <M extends Modelable> CompletableFuture<PageResult<M>> findPageResultByConditionSort(Class<M> modelClass,
+			@Nullable ConditionSqlFragment conditionSqlFragment, @Nullable SortSqlFragment sortSqlFragment,
+			int pageNum, int pageSize, @Nullable Long knownTotal) {
+		return supplyAsync(() -> sqlModelServiceAdapter.findPageResultByConditionSort(modelClass,
+				conditionSqlFragment, sortSqlFragment, pageNum, pageSize, knownTotal));
+	}
+
+	/**
+	 * 在 executor 中执行查询。获取到许可后才提交到 executor，同时执行的查询数量不超过 maxConcurrency
+	 */
+	protected <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+		Task<T> task = new Task<>(query);
+		pendingTasks.add(task);
+		submitPendingTasks();
+		return task.future;
+	}
+
+	/**
+	 * 在有许可时提交等待的查询。加入查询与查询执行结束（释放许可）后都会调用该方法，因此不会有查询在有空闲许可时一直等待
+	 */
+	private void submitPendingTasks() {
+		while (!pendingTasks.isEmpty() && bulkhead.tryAcquire()) {
+			Task<?> task = pendingTasks.poll();
+			if (null == task) {
+				bulkhead.release();
+				continue;
+			}
+			try {
+				executor.execute(() -> {
+					try {
+						task.run();
+					} finally {
+						bulkhead.release();
+						submitPendingTasks();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				bulkhead.release();
+				task.future.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * @return 执行查询的adapter
+	 */
+	public SqlModelServiceAdapter getSqlModelServiceAdapter() {
+		return sqlModelServiceAdapter;
+	}
+
+	private static final class Task<T> {
+
+		private final Supplier<T> query;
+
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+
+		private Task(Supplier<T> query) {
+			this.query = query;
+		}
+
+		private void run() {
+			try {
+				future.complete(query.get());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service;
+
+import java.util.List;
+
+import org.yelong.core.annotation.Nullable;
+import org.yelong.core.model.Modelable;
+
+/**
+ * 键集分页（seek）的查询结果
+ * 
+ * @param <M> model type
+ * @param <K> 排序键类型
+ * @see SqlModelServiceAdapter#findPageByKeyset(Class, java.util.function.Function,
+ *      org.yelong.core.jdbc.sql.sort.SortSqlFragment, java.util.function.Function,
+ *      Object, int)
+ * @since 2.2
+ */
+public class KeysetPage<M extends Modelable, K> {
+
+	private final List<M> models;
+
+	@Nullable
+	private final K lastKey;
+
+	private final boolean hasNext;
+
+	public KeysetPage(List<M> models, @Nullable K lastKey, boolean hasNext) {
+		this.models = models;
+		this.lastKey = lastKey;
+		this.hasNext = hasNext;
+	}
+
+	/**
+	 * @return 当前页的模型对象集合
+	 */
+	public List<M> getModels() {
+		return models;
+	}
+
+	/**
+	 * 当前页最后一条记录的排序键。查询下一页时作为 lastKey 传入
+	 * 
+	 * @return 当前页最后一条记录的排序键。当前页没有记录时返回 <code>null</code>
+	 */
+	@Nullable
+	public K getLastKey() {
+		return lastKey;
+	}
+
+	/**
+	 * @return <tt>true</tt> 存在下一页
+	 */
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+}
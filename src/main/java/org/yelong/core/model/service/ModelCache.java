@@ -0,0 +1,262 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.yelong.core.annotation.Nullable;
+import org.yelong.core.model.Modelable;
+
+/**
+ * 根据主键缓存模型对象的二级缓存<br/>
+ * 
+ * 只缓存构造时指定的model class。每个model class使用独立的 {@link ConcurrentHashMap}
+ * 存储，读取不加锁。超过最大数量或者过期的模型对象将被移除<br/>
+ * 
+ * 每个model class维护一个失效版本，每次移除缓存时递增。调用者在查询数据库之前获取版本
+ * （{@link #getVersion(Class)}），放入缓存时版本已经改变的模型对象不会被缓存，避免在查询期间提交的修改被旧的记录覆盖<br/>
+ * 
+ * 注意：缓存的模型对象会被多个调用者共享，调用者不应修改从缓存中获取的模型对象
+ * 
+ * @see SqlModelServiceAdapter#getModelCache()
+ * @since 2.2
+ */
+public class ModelCache {
+
+	/**
+	 * model class -> 失效版本
+	 */
+	private final Map<Class<?>, AtomicLong> versions;
+
+	private final int maximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final ConcurrentMap<Class<?>, ConcurrentMap<Object, Entry>> regions = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * @param maximumSize      每个model class最多缓存的模型对象数量
+	 * @param expireAfterWrite 模型对象放入缓存后的过期时间。小于等于0时不过期
+	 * @param timeUnit         过期时间的单位
+	 * @param modelClasses     缓存的model class
+	 */
+	@SafeVarargs
+	public ModelCache(int maximumSize, long expireAfterWrite, TimeUnit timeUnit,
+			Class<? extends Modelable>... modelClasses) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be greater than 0 : " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = expireAfterWrite <= 0 ? 0 : timeUnit.toNanos(expireAfterWrite);
+		Map<Class<?>, AtomicLong> versions = new HashMap<>();
+		for (Class<? extends Modelable> modelClass : modelClasses) {
+			versions.put(modelClass, new AtomicLong());
+		}
+		this.versions = Collections.unmodifiableMap(versions);
+	}
+
+	/**
+	 * @param modelClass model class
+	 * @return <tt>true</tt> 该model class的模型对象会被缓存
+	 */
+	public boolean isCacheable(Class<?> modelClass) {
+		return versions.containsKey(modelClass);
+	}
+
+	/**
+	 * 获取model class当前的失效版本。应在查询数据库之前获取，并在放入缓存时传入
+	 * 
+	 * @param modelClass model class
+	 * @return 失效版本
+	 * @see #put(Class, Object, Modelable, long)
+	 */
+	public long getVersion(Class<?> modelClass) {
+		AtomicLong version = versions.get(modelClass);
+		return null == version ? 0 : version.get();
+	}
+
+	/**
+	 * 获取缓存的模型对象
+	 * 
+	 * @param <M>             model type
+	 * @param modelClass      model class
+	 * @param primaryKeyValue 主键值
+	 * @return 缓存的模型对象。不存在或者已经过期时返回 <code>null</code>
+	 */
+	@Nullable
+	public <M extends Modelable> M get(Class<M> modelClass, Object primaryKeyValue) {
+		ConcurrentMap<Object, Entry> region = regions.get(modelClass);
+		Object key = key(primaryKeyValue);
+		Entry entry = null == region ? null : region.get(key);
+		if (null == entry) {
+			missCount.increment();
+			return null;
+		}
+		if (entry.isExpired()) {
+			if (region.remove(key, entry)) {
+				evictionCount.increment();
+			}
+			missCount.increment();
+			return null;
+		}
+		hitCount.increment();
+		return modelClass.cast(entry.model);
+	}
+
+	/**
+	 * 缓存模型对象。model class不是缓存的model class，或者获取版本之后移除过该model class的缓存时不进行缓存
+	 * 
+	 * @param modelClass      model class
+	 * @param primaryKeyValue 主键值
+	 * @param model           模型对象
+	 * @param version         查询模型对象之前获取的失效版本
+	 * @return <tt>true</tt> 模型对象已放入缓存
+	 */
+	public boolean put(Class<? extends Modelable> modelClass, Object primaryKeyValue, Modelable model,
+			long version) {
+		AtomicLong currentVersion = versions.get(modelClass);
+		if (null == currentVersion || currentVersion.get() != version) {
+			return false;
+		}
+		ConcurrentMap<Object, Entry> region = regions.computeIfAbsent(modelClass, k -> new ConcurrentHashMap<>());
+		Object key = key(primaryKeyValue);
+		if (!region.containsKey(key)) {
+			evict(region);
+		}
+		Entry entry = new Entry(model);
+		region.put(key, entry);
+		// 移除缓存时先递增版本再移除，放入之后版本未改变说明之后的移除一定会移除该模型对象
+		if (currentVersion.get() != version) {
+			region.remove(key, entry);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 移除主键值对应的缓存
+	 * 
+	 * @param modelClass       model class
+	 * @param primaryKeyValues 主键值
+	 */
+	public void invalidate(Class<?> modelClass, Object... primaryKeyValues) {
+		incrementVersion(modelClass);
+		ConcurrentMap<Object, Entry> region = regions.get(modelClass);
+		if (null == region) {
+			return;
+		}
+		for (Object primaryKeyValue : primaryKeyValues) {
+			region.remove(key(primaryKeyValue));
+		}
+	}
+
+	/**
+	 * 移除model class的所有缓存
+	 * 
+	 * @param modelClass model class
+	 */
+	public void invalidateAll(Class<?> modelClass) {
+		incrementVersion(modelClass);
+		regions.remove(modelClass);
+	}
+
+	/**
+	 * 移除所有的缓存
+	 */
+	public void invalidateAll() {
+		for (AtomicLong version : versions.values()) {
+			version.incrementAndGet();
+		}
+		regions.clear();
+	}
+
+	/**
+	 * @return 命中次数
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return 未命中次数
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return 因超过最大数量或者过期而移除的次数
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * @param modelClass model class
+	 * @return 该model class当前缓存的模型对象数量
+	 */
+	public int size(Class<?> modelClass) {
+		ConcurrentMap<Object, Entry> region = regions.get(modelClass);
+		return null == region ? 0 : region.size();
+	}
+
+	private void incrementVersion(Class<?> modelClass) {
+		AtomicLong version = versions.get(modelClass);
+		if (null != version) {
+			version.incrementAndGet();
+		}
+	}
+
+	/**
+	 * 缓存的数量达到最大数量时任意移除模型对象，直至小于最大数量。过期的模型对象在读取时移除
+	 */
+	private void evict(ConcurrentMap<Object, Entry> region) {
+		Iterator<Object> iterator = region.keySet().iterator();
+		while (region.size() >= maximumSize && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+			evictionCount.increment();
+		}
+	}
+
+	/**
+	 * 整数类型的主键值统一为 {@link Long}，使 <code>1</code> 与 <code>1L</code> 对应相同的缓存
+	 */
+	private static Object key(Object primaryKeyValue) {
+		Objects.requireNonNull(primaryKeyValue, "primaryKeyValue");
+		return SqlModelServiceAdapterSupport.primaryKey(primaryKeyValue);
+	}
+
+	private final class Entry {
+
+		private final Modelable model;
+
+		private final long createTime = System.nanoTime();
+
+		private Entry(Modelable model) {
+			this.model = model;
+		}
+
+		private boolean isExpired() {
+			return expireAfterWriteNanos > 0 && System.nanoTime() - createTime > expireAfterWriteNanos;
+		}
+
+	}
+
+}
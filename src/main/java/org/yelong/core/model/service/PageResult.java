@@ -0,0 +1,73 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service;
+
+import java.util.List;
+
+import org.yelong.core.model.Modelable;
+
+/**
+ * 分页查询结果。包含当前页的模型对象与符合条件的总记录数
+ * 
+ * @param <M> model type
+ * @see SqlModelServiceAdapter#findPageResultByConditionSort(Class,
+ *      org.yelong.core.jdbc.sql.condition.ConditionSqlFragment,
+ *      org.yelong.core.jdbc.sql.sort.SortSqlFragment, int, int, Long)
+ * @since 2.2
+ */
+public class PageResult<M extends Modelable> {
+
+	private final List<M> models;
+
+	private final int pageNum;
+
+	private final int pageSize;
+
+	private final long total;
+
+	public PageResult(List<M> models, int pageNum, int pageSize, long total) {
+		this.models = models;
+		this.pageNum = pageNum;
+		this.pageSize = pageSize;
+		this.total = total;
+	}
+
+	/**
+	 * @return 当前页的模型对象集合
+	 */
+	public List<M> getModels() {
+		return models;
+	}
+
+	/**
+	 * @return 页码
+	 */
+	public int getPageNum() {
+		return pageNum;
+	}
+
+	/**
+	 * @return 页面大小
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * 符合条件的总记录数。查询后续页时可以作为 knownTotal 传入以省略记录数的查询
+	 * 
+	 * @return 总记录数
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return 总页数
+	 */
+	public long getPages() {
+		return pageSize <= 0 ? 0 : (total + pageSize - 1) / pageSize;
+	}
+
+}
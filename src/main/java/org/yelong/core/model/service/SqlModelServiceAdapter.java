@@ -3,10 +3,19 @@
  */
 package org.yelong.core.model.service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.yelong.core.annotation.Nullable;
 import org.yelong.core.jdbc.sql.condition.ConditionSqlFragment;
@@ -18,13 +27,97 @@ import org.yelong.core.model.manage.exception.PrimaryKeyException;
 import org.yelong.core.model.sql.SqlModel;
 
 /**
+ * 查询方法（find*、count*、exist*、stream*、forEach*）默认不开启事务：存在外层事务时加入外层事务，否则直接执行，
+ * 省去开启、提交事务的开销。可以通过 {@link SqlModelServiceAdapterTransactionAttributeSource} 配置查询方法的事务策略<br/>
+ * 
+ * 删除、修改、保存方法开启读写事务。配置方法（如 {@link #getModelCache()}）不开启事务
+ * 
  * @since 2.0
  */
 @Transactional
 public interface SqlModelServiceAdapter extends SqlModelService {
 
+	/**
+	 * 默认的主键集合(IN)每次执行的主键数量上限。Oracle 的 IN 列表最多支持1000个值
+	 */
+	int DEFAULT_PRIMARY_KEY_CONTAINS_CHUNK_SIZE = 1000;
+
+	/**
+	 * 根据多个主键值删除、查询记录时每次执行的主键数量上限。超过该数量的主键值将拆分为多条SQL执行，并合计结果<br/>
+	 * 
+	 * 实现类可以覆盖该方法以适配数据库驱动的参数数量限制。返回值小于等于0时不进行拆分
+	 * 
+	 * @return 每次执行的主键数量上限
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	default int getPrimaryKeyContainsChunkSize() {
+		return DEFAULT_PRIMARY_KEY_CONTAINS_CHUNK_SIZE;
+	}
+
+	/**
+	 * 默认的流式查询每次加载的记录数
+	 */
+	int DEFAULT_FETCH_SIZE = 1000;
+
+	/**
+	 * 模型对象的二级缓存<br/>
+	 * 
+	 * 默认不启用缓存。实现类返回 {@link ModelCache} 后，{@link #findById(Class, Object)}
+	 * 将优先从缓存中获取模型对象，该接口中的删除、修改方法执行后以及所在的事务结束后会移除受影响的缓存。
+	 * 读写事务中不使用缓存：查询到的模型对象可能未提交，缓存中的模型对象也可能不包含该事务中的修改<br/>
+	 * 
+	 * 注意：直接调用 {@link SqlModelService} 中的方法（如 removeBySqlFragment）或者通过其他途径修改数据时不会移除缓存
+	 * 
+	 * @return 模型对象缓存。不启用缓存时返回 <code>null</code>
+	 */
+	@Nullable
+	@Transactional(propagation = Propagation.SUPPORTS)
+	default ModelCache getModelCache() {
+		return null;
+	}
+
+	/**
+	 * 全局的选择性修改模式（{@link ModelCollectors#setModifySelective(boolean)}）的默认值<br/>
+	 * 
+	 * 该接口中的修改方法在创建收集器时将全局模式设置为方法对应的模式，创建后恢复为该值。
+	 * 应用修改了全局的默认模式时，实现类应覆盖该方法返回相同的值
+	 * 
+	 * @return <tt>true</tt> 默认为选择性修改
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	default boolean isDefaultModifySelective() {
+		return true;
+	}
+
 	// ==================================================modelService==================================================
 
+	// ==================================================save==================================================
+
+	/**
+	 * 批量保存或修改模型对象<br/>
+	 * 
+	 * 主键值为 <code>null</code> 的模型对象（新的模型对象）直接保存，不执行修改。
+	 * 其他模型对象先根据主键进行修改（所有映射的字段均会进行修改），没有修改到记录时进行保存。所有的操作在同一个事务中执行，只提交一次
+	 * 
+	 * @param <M>              model type
+	 * @param models           保存或修改的模型对象集合
+	 * @param primaryKeyGetter 模型对象 -> 主键值
+	 * @return 修改的记录数。保存的记录数为集合大小减去该值
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 */
+	default <M extends Modelable> int saveOrModifyBatch(Collection<M> models,
+			Function<? super M, ?> primaryKeyGetter) {
+		int modifyNum = 0;
+		for (M model : models) {
+			if (null != primaryKeyGetter.apply(model) && modifyById(model)) {
+				modifyNum++;
+			} else {
+				save(model);
+			}
+		}
+		return modifyNum;
+	}
+
 	// ==================================================remove==================================================
 
 	/**
@@ -35,7 +128,9 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 删除的记录数
 	 */
 	default Integer removeAll(Class<? extends Modelable> modelClass) {
-		return collect(ModelCollectors.removeAll(modelClass));
+		Integer removeNum = collect(ModelCollectors.removeAll(modelClass));
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, modelClass);
+		return removeNum;
 	}
 
 	/**
@@ -50,7 +145,9 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default boolean removeById(Class<? extends Modelable> modelClass, Object id) {
-		return collect(ModelCollectors.removeByOnlyPrimaryKeyEQ(modelClass, id)) > 0;
+		Integer removeNum = collect(ModelCollectors.removeByOnlyPrimaryKeyEQ(modelClass, id));
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, modelClass, new Object[] { id });
+		return removeNum > 0;
 	}
 
 	/**
@@ -63,7 +160,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default boolean removeByOnlyPrimaryKey(Class<? extends Modelable> modelClass, Object primaryKeyValue) {
-		return collect(ModelCollectors.removeByOnlyPrimaryKeyEQ(modelClass, primaryKeyValue)) > 0;
+		return removeById(modelClass, primaryKeyValue);
 	}
 
 	/**
@@ -78,7 +175,13 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default Integer removeByIds(Class<? extends Modelable> modelClass, Object[] ids) {
-		return collect(ModelCollectors.removeByOnlyPrimaryKeyContains(modelClass, ids));
+		int removeNum = 0;
+		for (Object[] chunk : SqlModelServiceAdapterSupport.chunk(SqlModelServiceAdapterSupport.distinct(ids),
+				getPrimaryKeyContainsChunkSize())) {
+			removeNum += collect(ModelCollectors.removeByOnlyPrimaryKeyContains(modelClass, chunk));
+			SqlModelServiceAdapterSupport.invalidateModelCache(this, modelClass, chunk);
+		}
+		return removeNum;
 	}
 
 	/**
@@ -91,7 +194,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default Integer removeByOnlyPrimaryKey(Class<? extends Modelable> modelClass, Object[] primaryKeyValues) {
-		return collect(ModelCollectors.removeByOnlyPrimaryKeyContains(modelClass, primaryKeyValues));
+		return removeByIds(modelClass, primaryKeyValues);
 	}
 
 	/**
@@ -104,7 +207,74 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 */
 	default Integer removeByCondition(Class<? extends Modelable> modelClass,
 			ConditionSqlFragment conditionSqlFragment) {
-		return removeBySqlFragment(modelClass, conditionSqlFragment);
+		Integer removeNum = removeBySqlFragment(modelClass, conditionSqlFragment);
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, modelClass);
+		return removeNum;
+	}
+
+	/**
+	 * 分批删除所有记录
+	 * 
+	 * @param <M>              model type
+	 * @param modelClass       model class
+	 * @param primaryKeyGetter 模型对象 -> 主键值
+	 * @param batchSize        每批删除的记录数
+	 * @param progress         每批删除后调用，参数为已删除的记录数。可以为 <code>null</code>
+	 * @return 删除的记录数
+	 * @see #removeByConditionInBatches(Class, ConditionSqlFragment, Function, int,
+	 *      IntConsumer)
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	default <M extends Modelable> Integer removeAllInBatches(Class<M> modelClass,
+			Function<? super M, ?> primaryKeyGetter, int batchSize, @Nullable IntConsumer progress) {
+		return removeByConditionInBatches(modelClass, null, primaryKeyGetter, batchSize, progress);
+	}
+
+	/**
+	 * 分批删除符合条件的记录<br/>
+	 * 
+	 * 每批查询最多 batchSize 条符合条件的记录，根据这些记录的主键进行删除，直至没有符合条件的记录。
+	 * 该方法不在事务中执行，每批删除单独提交，避免在大表上长时间持有锁、产生大量的undo/redo日志<br/>
+	 * 
+	 * 注意：删除在多个事务中完成，中途失败时已经删除的记录不会回滚。可以再次调用该方法删除剩余的记录
+	 * 
+	 * @param <M>                  model type
+	 * @param modelClass           model class
+	 * @param conditionSqlFragment 条件。为 <code>null</code> 时删除所有记录
+	 * @param primaryKeyGetter     模型对象 -> 主键值
+	 * @param batchSize            每批删除的记录数
+	 * @param progress             每批删除后调用，参数为已删除的记录数。可以为 <code>null</code>
+	 * @return 删除的记录数
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	default <M extends Modelable> Integer removeByConditionInBatches(Class<M> modelClass,
+			@Nullable ConditionSqlFragment conditionSqlFragment, Function<? super M, ?> primaryKeyGetter,
+			int batchSize, @Nullable IntConsumer progress) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be greater than 0 : " + batchSize);
+		}
+		int removeNum = 0;
+		while (true) {
+			List<M> models = findPageBySqlFragment(modelClass, conditionSqlFragment, null, 1, batchSize);
+			if (models.isEmpty()) {
+				break;
+			}
+			Object[] ids = new Object[models.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = primaryKeyGetter.apply(models.get(i));
+			}
+			int batchRemoveNum = removeByIds(modelClass, ids);
+			removeNum += batchRemoveNum;
+			if (null != progress) {
+				progress.accept(removeNum);
+			}
+			// 没有删除任何记录时结束，避免查询到的记录无法删除时无限循环
+			if (batchRemoveNum == 0 || models.size() < batchSize) {
+				break;
+			}
+		}
+		return removeNum;
 	}
 
 	// ==================================================modify==================================================
@@ -122,8 +292,10 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default boolean modifyById(Modelable model) {
-		ModelCollectors.setModifySelective(false);
-		return collect(ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)) > 0;
+		Integer modifyNum = collect(SqlModelServiceAdapterSupport.modifyCollector(this, false,
+				() -> ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)));
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, model.getClass());
+		return modifyNum > 0;
 	}
 
 	/**
@@ -137,8 +309,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default <M extends Modelable> boolean modifyByOnlyPrimaryKey(M model) {
-		ModelCollectors.setModifySelective(false);
-		return collect(ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)) > 0;
+		return modifyById(model);
 	}
 
 	/**
@@ -156,7 +327,10 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default boolean modifySelectiveById(Modelable model) {
-		return collect(ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)) > 0;
+		Integer modifyNum = collect(SqlModelServiceAdapterSupport.modifyCollector(this, true,
+				() -> ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)));
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, model.getClass());
+		return modifyNum > 0;
 	}
 
 	/**
@@ -172,7 +346,51 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	default boolean modifySelectiveByOnlyPrimaryKey(Modelable model) {
-		return collect(ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)) > 0;
+		return modifySelectiveById(model);
+	}
+
+	/**
+	 * 根据主键批量修改数据。每个model的主键值从model的实例的属性中取<br/>
+	 * 
+	 * 所有的修改在同一个事务中执行，只提交一次<br/>
+	 * 
+	 * 注：该model所有映射的字段均会进行修改<br/>
+	 * 
+	 * @param models 修改的模型对象集合
+	 * @return 修改的记录数
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 */
+	default Integer modifyByIds(Collection<? extends Modelable> models) {
+		int modifyNum = 0;
+		for (Modelable model : models) {
+			modifyNum += collect(SqlModelServiceAdapterSupport.modifyCollector(this, false,
+					() -> ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)));
+			SqlModelServiceAdapterSupport.invalidateModelCache(this, model.getClass());
+		}
+		return modifyNum;
+	}
+
+	/**
+	 * 根据主键批量修改数据。每个model的主键值从model的实例的属性中取<br/>
+	 * 
+	 * 所有的修改在同一个事务中执行，只提交一次<br/>
+	 * 
+	 * 选择性：<br/>
+	 * 1、属性为null的不会进行添加<br/>
+	 * 2、需要设置为null的属性应设置为{@link ModelNullProperty}中对应的属性值<br/>
+	 * 
+	 * @param models 修改的模型对象集合
+	 * @return 修改的记录数
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 */
+	default Integer modifySelectiveByIds(Collection<? extends Modelable> models) {
+		int modifyNum = 0;
+		for (Modelable model : models) {
+			modifyNum += collect(SqlModelServiceAdapterSupport.modifyCollector(this, true,
+					() -> ModelCollectors.modifyModelByOnlyPrimaryKeyEQ(model)));
+			SqlModelServiceAdapterSupport.invalidateModelCache(this, model.getClass());
+		}
+		return modifyNum;
 	}
 
 	/**
@@ -188,7 +406,9 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 修改的记录数
 	 */
 	default Integer modifyByCondition(Modelable model, ConditionSqlFragment conditionSqlFragment) {
-		return modifyBySqlFragment(model, conditionSqlFragment);
+		Integer modifyNum = modifyBySqlFragment(model, conditionSqlFragment);
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, model.getClass());
+		return modifyNum;
 	}
 
 	/**
@@ -206,7 +426,9 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 修改的记录数
 	 */
 	default Integer modifySelectiveByCondition(Modelable model, ConditionSqlFragment conditionSqlFragment) {
-		return modifySelectiveBySqlFragment(model, conditionSqlFragment);
+		Integer modifyNum = modifySelectiveBySqlFragment(model, conditionSqlFragment);
+		SqlModelServiceAdapterSupport.invalidateModelCache(this, model.getClass());
+		return modifyNum;
 	}
 
 	// ==================================================count==================================================
@@ -218,6 +440,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param modelClass model class
 	 * @return 所有的记录数
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default Long countAll(Class<? extends Modelable> modelClass) {
 		return collect(ModelCollectors.countAll(modelClass));
 	}
@@ -232,6 +455,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 符合条件的记录数
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default Long countById(Class<? extends Modelable> modelClass, Object id) {
 		return collect(ModelCollectors.countByOnlyPrimaryKeyEQ(modelClass, id));
 	}
@@ -245,6 +469,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 符合条件的记录数
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default Long countByOnlyPrimaryKey(Class<? extends Modelable> modelClass, Object primaryKeyValue) {
 		return collect(ModelCollectors.countByOnlyPrimaryKeyEQ(modelClass, primaryKeyValue));
 	}
@@ -259,8 +484,14 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 符合条件的记录数
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default Long countByIds(Class<? extends Modelable> modelClass, Object[] ids) {
-		return collect(ModelCollectors.countByOnlyPrimaryKeyContains(modelClass, ids));
+		long count = 0;
+		for (Object[] chunk : SqlModelServiceAdapterSupport.chunk(SqlModelServiceAdapterSupport.distinct(ids),
+				getPrimaryKeyContainsChunkSize())) {
+			count += collect(ModelCollectors.countByOnlyPrimaryKeyContains(modelClass, chunk));
+		}
+		return count;
 	}
 
 	/**
@@ -272,8 +503,9 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 符合条件的记录数
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default Long countByOnlyPrimaryKey(Class<? extends Modelable> modelClass, Object[] primaryKeyValues) {
-		return collect(ModelCollectors.countByOnlyPrimaryKeyContains(modelClass, primaryKeyValues));
+		return countByIds(modelClass, primaryKeyValues);
 	}
 
 	/**
@@ -284,6 +516,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param condition  条件
 	 * @return 符合条件的记录数
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default Long countByCondition(Class<? extends Modelable> modelClass, ConditionSqlFragment conditionSqlFragment) {
 		return countBySqlFragment(modelClass, conditionSqlFragment);
 	}
@@ -301,6 +534,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return <tt>true</tt> 符合条件的记录存在
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existById(Class<? extends Modelable> modelClass, Object id) {
 		return countById(modelClass, id) > 0;
 	}
@@ -314,6 +548,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return <tt>true</tt> 符合条件的记录存在
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existByOnlyPrimaryKey(Class<? extends Modelable> modelClass, Object primaryKeyValue) {
 		return existById(modelClass, primaryKeyValue);
 	}
@@ -321,6 +556,8 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	/**
 	 * 根据主键数组查询这些记录是否都存在<br/>
 	 * 
+	 * 重复的主键值只计算一次。主键值拆分执行时，任意一组主键存在不存在的记录即返回 <tt>false</tt>，不再执行剩余的查询<br/>
+	 * 
 	 * 推荐使用 {@link #existByOnlyPrimaryKey(Class, Object[])}，此方法不是一个标准命名的方法。<br/>
 	 * 
 	 * @param <M>        model type
@@ -329,8 +566,15 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return <tt>true</tt> 符合条件的记录都存在
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existByIds(Class<? extends Modelable> modelClass, Object[] ids) {
-		return countByIds(modelClass, ids) == ids.length;
+		for (Object[] chunk : SqlModelServiceAdapterSupport.chunk(SqlModelServiceAdapterSupport.distinct(ids),
+				getPrimaryKeyContainsChunkSize())) {
+			if (collect(ModelCollectors.countByOnlyPrimaryKeyContains(modelClass, chunk)) != chunk.length) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -342,6 +586,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return <tt>true</tt> 符合条件的记录都存在
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existByOnlyPrimaryKey(Class<? extends Modelable> modelClass, Object[] primaryKeyValues) {
 		return existByIds(modelClass, primaryKeyValues);
 	}
@@ -354,6 +599,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param condition  条件
 	 * @return <tt>true</tt> 符合条件的记录存在
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existByCondition(Class<? extends Modelable> modelClass, ConditionSqlFragment condition) {
 		return countByCondition(modelClass, condition) > 0;
 	}
@@ -366,6 +612,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param modelClass model class
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findAll(Class<M> modelClass) {
 		return collect(ModelCollectors.findAll(modelClass));
 	}
@@ -382,8 +629,22 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	@Nullable
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> M findById(Class<M> modelClass, Object id) {
-		return collect(ModelCollectors.getModelByOnlyPrimaryKeyEQ(modelClass, id));
+		ModelCache modelCache = getModelCache();
+		if (null == modelCache || null == id || !modelCache.isCacheable(modelClass)
+				|| !SqlModelServiceAdapterSupport.isModelCacheUsable()) {
+			return collect(ModelCollectors.getModelByOnlyPrimaryKeyEQ(modelClass, id));
+		}
+		M model = modelCache.get(modelClass, id);
+		if (null == model) {
+			long version = modelCache.getVersion(modelClass);
+			model = collect(ModelCollectors.getModelByOnlyPrimaryKeyEQ(modelClass, id));
+			if (null != model) {
+				modelCache.put(modelClass, id, model, version);
+			}
+		}
+		return model;
 	}
 
 	/**
@@ -396,8 +657,78 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
 	 */
 	@Nullable
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> M findByOnlyPrimaryKey(Class<M> modelClass, Object primaryKeyValue) {
-		return collect(ModelCollectors.getModelByOnlyPrimaryKeyEQ(modelClass, primaryKeyValue));
+		return findById(modelClass, primaryKeyValue);
+	}
+
+	/**
+	 * 根据多个主键值查询模型对象<br/>
+	 * 
+	 * 重复的主键值只查询一次，主键值数量超过 {@link #getPrimaryKeyContainsChunkSize()} 时拆分为多条SQL执行。
+	 * 用于替代循环调用 {@link #findById(Class, Object)}<br/>
+	 * 
+	 * 推荐使用 {@link #findByOnlyPrimaryKey(Class, Object[])}，此方法不是一个标准命名的方法。<br/>
+	 * 
+	 * @param <M>        model type
+	 * @param modelClass model class
+	 * @param ids        主键值数组
+	 * @return 模型对象集合。不存在的主键值没有对应的模型对象，集合的顺序与主键值的顺序无关
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable> List<M> findByIds(Class<M> modelClass, Object[] ids) {
+		if (ids.length == 0) {
+			return Collections.emptyList();
+		}
+		List<Object[]> chunks = SqlModelServiceAdapterSupport.chunk(SqlModelServiceAdapterSupport.distinct(ids),
+				getPrimaryKeyContainsChunkSize());
+		if (chunks.size() == 1) {
+			return collect(ModelCollectors.findByOnlyPrimaryKeyContains(modelClass, chunks.get(0)));
+		}
+		List<M> models = new ArrayList<>(ids.length);
+		for (Object[] chunk : chunks) {
+			models.addAll(collect(ModelCollectors.findByOnlyPrimaryKeyContains(modelClass, chunk)));
+		}
+		return models;
+	}
+
+	/**
+	 * 根据多个主键值查询模型对象
+	 * 
+	 * @param <M>              model type
+	 * @param modelClass       model class
+	 * @param primaryKeyValues 主键值数组
+	 * @return 模型对象集合
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 * @see #findByIds(Class, Object[])
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable> List<M> findByOnlyPrimaryKey(Class<M> modelClass, Object[] primaryKeyValues) {
+		return findByIds(modelClass, primaryKeyValues);
+	}
+
+	/**
+	 * 根据多个主键值查询模型对象，并以主键值作为键
+	 * 
+	 * @param <M>              model type
+	 * @param <K>              主键值类型
+	 * @param modelClass       model class
+	 * @param ids              主键值数组
+	 * @param primaryKeyGetter 模型对象 -> 主键值
+	 * @return 主键值 -> 模型对象。不存在的主键值不包含在内
+	 * @throws PrimaryKeyException modelClass存在的主键数量不等于1
+	 * @see #findByIds(Class, Object[])
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable, K> Map<K, M> findMapByIds(Class<M> modelClass, Object[] ids,
+			Function<? super M, ? extends K> primaryKeyGetter) {
+		List<M> models = findByIds(modelClass, ids);
+		Map<K, M> modelMap = new LinkedHashMap<>(models.size() * 4 / 3 + 1);
+		for (M model : models) {
+			modelMap.put(primaryKeyGetter.apply(model), model);
+		}
+		return modelMap;
 	}
 
 	/**
@@ -408,6 +739,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param condition  条件
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findByCondition(Class<M> modelClass,
 			ConditionSqlFragment conditionSqlFragment) {
 		return findBySqlFragment(modelClass, conditionSqlFragment, null);
@@ -422,6 +754,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 模型对象
 	 */
 	@Nullable
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> M findFirstByCondition(Class<M> modelClass,
 			ConditionSqlFragment conditionSqlFragment) {
 		return findFirstBySqlFragment(modelClass, conditionSqlFragment, null);
@@ -435,6 +768,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param sort       排序
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findBySort(Class<M> modelClass, SortSqlFragment sortSqlFragment) {
 		return findBySqlFragment(modelClass, null, sortSqlFragment);
 	}
@@ -448,11 +782,95 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param sort       排序条件
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findByConditionSort(Class<M> modelClass,
 			ConditionSqlFragment conditionSqlFragment, SortSqlFragment sortSqlFragment) {
 		return findBySqlFragment(modelClass, conditionSqlFragment, sortSqlFragment);
 	}
 
+	// ==================================================stream==================================================
+
+	/**
+	 * 基于键集分页的流式查询<br/>
+	 * 
+	 * 通过 {@link #findPageByKeyset(Class, Function, SortSqlFragment, Function, Object, int)} 逐页加载 fetchSize
+	 * 条记录，消费完当前页的模型对象后才会查询下一页，内存中最多只存在一页的模型对象。每一页以上一页最后一条记录的排序键作为条件查询，
+	 * 不使用 OFFSET，遍历任意数量的记录时每一页的耗时相同。适用于导出等需要遍历大量记录的场景<br/>
+	 * 
+	 * 注意：<br/>
+	 * 1、排序必须与 keysetCondition 的比较方向一致，并且排序键必须是唯一的（如主键，或以主键作为最后的排序列）<br/>
+	 * 2、流在消费时才会执行查询，该方法不开启事务。每一页的查询单独执行，需要一致的数据快照时应在外层事务中消费该流<br/>
+	 * 3、每一页的查询在该方法返回之后执行，不在只读事务中。使用 {@link org.yelong.core.jdbc.datasource.ReadWriteRoutingDataSource}
+	 * 时每一页均查询主库。需要查询从库时应在外层的只读事务中消费该流，或者使用
+	 * {@link #forEachByKeyset(Class, Function, SortSqlFragment, Function, int, Consumer)}，该方法在只读事务中加载每一页<br/>
+	 * 
+	 * @param <M>             model type
+	 * @param <K>             排序键类型
+	 * @param modelClass      model class
+	 * @param keysetCondition 上一页最后一条记录的排序键 -> 查询条件。查询第一页时传入 <code>null</code>
+	 * @param sortSqlFragment 排序
+	 * @param keyGetter       模型对象 -> 排序键。不能返回 <code>null</code>
+	 * @param fetchSize       每次加载的记录数
+	 * @return 模型对象流
+	 * @throws IllegalArgumentException fetchSize 小于等于0
+	 */
+	// 只为覆盖接口上的读写事务：流在该方法返回后才执行查询，该方法不需要事务
+	@Transactional(propagation = Propagation.SUPPORTS)
+	default <M extends Modelable, K> Stream<M> streamByKeyset(Class<M> modelClass,
+			Function<? super K, ? extends ConditionSqlFragment> keysetCondition, SortSqlFragment sortSqlFragment,
+			Function<? super M, ? extends K> keyGetter, int fetchSize) {
+		if (fetchSize <= 0) {
+			throw new IllegalArgumentException("fetchSize must be greater than 0 : " + fetchSize);
+		}
+		return SqlModelServiceAdapterSupport.<M, K>keysetStream(lastKey -> findPageByKeyset(modelClass,
+				keysetCondition, sortSqlFragment, keyGetter, lastKey, fetchSize));
+	}
+
+	/**
+	 * 基于键集分页遍历记录。每次加载 {@link #DEFAULT_FETCH_SIZE} 条记录
+	 * 
+	 * @param <M>             model type
+	 * @param <K>             排序键类型
+	 * @param modelClass      model class
+	 * @param keysetCondition 上一页最后一条记录的排序键 -> 查询条件。查询第一页时传入 <code>null</code>
+	 * @param sortSqlFragment 排序
+	 * @param keyGetter       模型对象 -> 排序键。不能返回 <code>null</code>
+	 * @param action          对每个模型对象执行的操作
+	 * @see #forEachByKeyset(Class, Function, SortSqlFragment, Function, int, Consumer)
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable, K> void forEachByKeyset(Class<M> modelClass,
+			Function<? super K, ? extends ConditionSqlFragment> keysetCondition, SortSqlFragment sortSqlFragment,
+			Function<? super M, ? extends K> keyGetter, Consumer<? super M> action) {
+		forEachByKeyset(modelClass, keysetCondition, sortSqlFragment, keyGetter, DEFAULT_FETCH_SIZE, action);
+	}
+
+	/**
+	 * 基于键集分页遍历记录<br/>
+	 * 
+	 * 所有的页面在该方法中加载，与该方法处于相同的只读事务上下文（使用
+	 * {@link org.yelong.core.jdbc.datasource.ReadWriteRoutingDataSource} 时查询从库）。需要一致的数据快照时应在外层事务中调用该方法
+	 * 
+	 * @param <M>             model type
+	 * @param <K>             排序键类型
+	 * @param modelClass      model class
+	 * @param keysetCondition 上一页最后一条记录的排序键 -> 查询条件。查询第一页时传入 <code>null</code>
+	 * @param sortSqlFragment 排序
+	 * @param keyGetter       模型对象 -> 排序键。不能返回 <code>null</code>
+	 * @param fetchSize       每次加载的记录数
+	 * @param action          对每个模型对象执行的操作
+	 * @throws IllegalArgumentException fetchSize 小于等于0
+	 * @see #streamByKeyset(Class, Function, SortSqlFragment, Function, int)
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable, K> void forEachByKeyset(Class<M> modelClass,
+			Function<? super K, ? extends ConditionSqlFragment> keysetCondition, SortSqlFragment sortSqlFragment,
+			Function<? super M, ? extends K> keyGetter, int fetchSize, Consumer<? super M> action) {
+		try (Stream<M> stream = streamByKeyset(modelClass, keysetCondition, sortSqlFragment, keyGetter, fetchSize)) {
+			stream.forEach(action);
+		}
+	}
+
 	// ==================================================findSingleColumn==================================================
 
 	/**
@@ -467,6 +885,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 查询的列集合
 	 */
 	@Deprecated
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <T> List<T> findSingleColumn(Class<? extends Modelable> modelClass, String selectColumn,
 			@Nullable ConditionSqlFragment conditionSqlFragment, @Nullable SortSqlFragment sortSqlFragment) {
 		return findSingleColumnBySqlFragment(modelClass, selectColumn, conditionSqlFragment, sortSqlFragment);
@@ -484,13 +903,14 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 查询的列集合
 	 */
 	@Deprecated
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <T> List<T> findSingleColumnByOnlyPrimaryKey(Class<? extends Modelable> modelClass, String selectColumn,
 			Object primaryKeyValue) {
 		T value = collect(ModelCollectors.getSingleValueByOnlyPrimaryKeyEQ(modelClass, selectColumn, primaryKeyValue));
 		if (null == value) {
 			return Collections.emptyList();
 		}
-		return Arrays.asList(value);
+		return Collections.singletonList(value);
 	}
 
 	/**
@@ -505,6 +925,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 查询的列的第一条数据
 	 */
 	@Deprecated
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable, T> T findFirstSingleColumn(Class<M> modelClass, String selectColumn,
 			@Nullable ConditionSqlFragment conditionSqlFragment, @Nullable SortSqlFragment sortSqlFragment) {
 		return findFirstSingleColumnBySqlFragment(modelClass, selectColumn, conditionSqlFragment, sortSqlFragment);
@@ -522,11 +943,66 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 查询的列集合
 	 */
 	@Deprecated
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <T> T findFirstSingleColumnByOnlyPrimaryKey(Class<? extends Modelable> modelClass, String selectColumn,
 			Object primaryKeyValue) {
 		return collect(ModelCollectors.getSingleValueByOnlyPrimaryKeyEQ(modelClass, selectColumn, primaryKeyValue));
 	}
 
+	/**
+	 * 查询一列整数数据并转换为 long 数组<br/>
+	 * 
+	 * 适用于查询主键等整数列，结果不包含装箱的集合。为 <code>null</code> 的值将被忽略
+	 * 
+	 * @param modelClass           model class
+	 * @param selectColumn         查询的列名。该列的值应为整数
+	 * @param conditionSqlFragment 条件
+	 * @param sortSqlFragment      排序
+	 * @return 查询的列的值
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default long[] findLongColumn(Class<? extends Modelable> modelClass, String selectColumn,
+			@Nullable ConditionSqlFragment conditionSqlFragment, @Nullable SortSqlFragment sortSqlFragment) {
+		List<Number> values = findSingleColumnBySqlFragment(modelClass, selectColumn, conditionSqlFragment,
+				sortSqlFragment);
+		long[] result = new long[values.size()];
+		int length = 0;
+		for (Number value : values) {
+			if (null != value) {
+				result[length++] = value.longValue();
+			}
+		}
+		return length == result.length ? result : Arrays.copyOf(result, length);
+	}
+
+	/**
+	 * 查询一列整数数据并转换为 int 数组<br/>
+	 * 
+	 * 适用于查询主键等整数列，结果不包含装箱的集合。为 <code>null</code> 的值将被忽略
+	 * 
+	 * @param modelClass           model class
+	 * @param selectColumn         查询的列名。该列的值应为整数
+	 * @param conditionSqlFragment 条件
+	 * @param sortSqlFragment      排序
+	 * @return 查询的列的值
+	 * @throws ArithmeticException 列的值超出 int 的范围。此时应使用
+	 *                             {@link #findLongColumn(Class, String, ConditionSqlFragment, SortSqlFragment)}
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default int[] findIntColumn(Class<? extends Modelable> modelClass, String selectColumn,
+			@Nullable ConditionSqlFragment conditionSqlFragment, @Nullable SortSqlFragment sortSqlFragment) {
+		List<Number> values = findSingleColumnBySqlFragment(modelClass, selectColumn, conditionSqlFragment,
+				sortSqlFragment);
+		int[] result = new int[values.size()];
+		int length = 0;
+		for (Number value : values) {
+			if (null != value) {
+				result[length++] = Math.toIntExact(value.longValue());
+			}
+		}
+		return length == result.length ? result : Arrays.copyOf(result, length);
+	}
+
 	// ==================================================findPage==================================================
 
 	/**
@@ -538,6 +1014,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param pageSize   页面大小
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findPage(Class<M> modelClass, Integer pageNum, Integer pageSize) {
 		return findPageBySqlFragment(modelClass, null, null, pageNum, pageSize);
 	}
@@ -552,6 +1029,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param pageSize   页面大小
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findPageByCondition(Class<M> modelClass,
 			ConditionSqlFragment conditionSqlFragment, Integer pageNum, Integer pageSize) {
 		return findPageBySqlFragment(modelClass, conditionSqlFragment, null, pageNum, pageSize);
@@ -567,6 +1045,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param pageSize   页面大小
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findPageBySort(Class<M> modelClass, SortSqlFragment sortSqlFragment,
 			Integer pageNum, Integer pageSize) {
 		return findPageBySqlFragment(modelClass, null, sortSqlFragment, pageNum, pageSize);
@@ -583,12 +1062,109 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param pageSize   页面大小
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findPageByConditionSort(Class<M> modelClass,
 			ConditionSqlFragment conditionSqlFragment, SortSqlFragment sortSqlFragment, Integer pageNum,
 			Integer pageSize) {
 		return findPageBySqlFragment(modelClass, conditionSqlFragment, sortSqlFragment, pageNum, pageSize);
 	}
 
+	/**
+	 * 分页条件加排序查询，并返回符合条件的总记录数<br/>
+	 * 
+	 * 以下情况不会执行记录数的查询：<br/>
+	 * 1、knownTotal 不为 <code>null</code>（如翻页时传入第一次查询结果的 {@link PageResult#getTotal()}）<br/>
+	 * 2、当前页的记录数小于页面大小，即当前页为最后一页，总记录数可以直接计算得出<br/>
+	 * 
+	 * @param <M>                  model type
+	 * @param modelClass           model class
+	 * @param conditionSqlFragment 条件
+	 * @param sortSqlFragment      排序
+	 * @param pageNum              页码
+	 * @param pageSize             页面大小
+	 * @param knownTotal           已知的总记录数。为 <code>null</code> 时在需要时查询
+	 * @return 分页查询结果
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable> PageResult<M> findPageResultByConditionSort(Class<M> modelClass,
+			@Nullable ConditionSqlFragment conditionSqlFragment, @Nullable SortSqlFragment sortSqlFragment,
+			int pageNum, int pageSize, @Nullable Long knownTotal) {
+		List<M> models = findPageBySqlFragment(modelClass, conditionSqlFragment, sortSqlFragment, pageNum, pageSize);
+		long total;
+		if (null != knownTotal) {
+			total = knownTotal;
+		} else if (models.size() < pageSize && (!models.isEmpty() || pageNum <= 1)) {
+			total = (long) (pageNum - 1) * pageSize + models.size();
+		} else {
+			total = countBySqlFragment(modelClass, conditionSqlFragment);
+		}
+		return new PageResult<>(models, pageNum, pageSize, total);
+	}
+
+	/**
+	 * 分页条件查询，并返回符合条件的总记录数
+	 * 
+	 * @param <M>                  model type
+	 * @param modelClass           model class
+	 * @param conditionSqlFragment 条件
+	 * @param pageNum              页码
+	 * @param pageSize             页面大小
+	 * @return 分页查询结果
+	 * @see #findPageResultByConditionSort(Class, ConditionSqlFragment,
+	 *      SortSqlFragment, int, int, Long)
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable> PageResult<M> findPageResultByCondition(Class<M> modelClass,
+			@Nullable ConditionSqlFragment conditionSqlFragment, int pageNum, int pageSize) {
+		return findPageResultByConditionSort(modelClass, conditionSqlFragment, null, pageNum, pageSize, null);
+	}
+
+	/**
+	 * 键集分页（seek）查询<br/>
+	 * 
+	 * 以上一页最后一条记录的排序键作为条件查询下一页（如 <code>id > ?</code>），不使用 OFFSET，查询任意深度的页面耗时相同<br/>
+	 * 
+	 * 使用方式：第一页 lastKey 传入 <code>null</code>，之后每次传入上一次结果的 {@link KeysetPage#getLastKey()}，直至
+	 * {@link KeysetPage#hasNext()} 为 <tt>false</tt><br/>
+	 * 
+	 * 注意：排序必须与 keysetCondition 的比较方向一致，并且排序键必须是唯一的（如主键，或以主键作为最后的排序列）
+	 * 
+	 * @param <M>             model type
+	 * @param <K>             排序键类型
+	 * @param modelClass      model class
+	 * @param keysetCondition 上一页最后一条记录的排序键 -> 查询条件。lastKey 为 <code>null</code>
+	 *                        时传入 <code>null</code>，此时应返回第一页的条件（可以为 <code>null</code>）
+	 * @param sortSqlFragment 排序
+	 * @param keyGetter       模型对象 -> 排序键。不能返回 <code>null</code>
+	 * @param lastKey         上一页最后一条记录的排序键。查询第一页时为 <code>null</code>
+	 * @param pageSize        页面大小
+	 * @return 当前页的查询结果
+	 * @throws IllegalArgumentException pageSize 小于等于0
+	 * @throws IllegalStateException    存在下一页，但是 keyGetter 返回的当前页最后一条记录的排序键为 <code>null</code>
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	default <M extends Modelable, K> KeysetPage<M, K> findPageByKeyset(Class<M> modelClass,
+			Function<? super K, ? extends ConditionSqlFragment> keysetCondition, SortSqlFragment sortSqlFragment,
+			Function<? super M, ? extends K> keyGetter, @Nullable K lastKey, int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be greater than 0 : " + pageSize);
+		}
+		// 多查询一条记录用来判断是否存在下一页
+		List<M> models = findPageBySqlFragment(modelClass, keysetCondition.apply(lastKey), sortSqlFragment, 1,
+				pageSize + 1);
+		boolean hasNext = models.size() > pageSize;
+		if (hasNext) {
+			models = models.subList(0, pageSize);
+		}
+		K nextKey = models.isEmpty() ? null : keyGetter.apply(models.get(models.size() - 1));
+		if (hasNext && null == nextKey) {
+			// null 表示查询第一页，继续查询将无限循环
+			throw new IllegalStateException("keyGetter returned null for the last model of a page with a next page : "
+					+ modelClass.getName());
+		}
+		return new KeysetPage<>(models, nextKey, hasNext);
+	}
+
 	// ==================================================sqlModel==================================================
 
 	// ==================================================remove==================================================
@@ -618,6 +1194,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param sqlModel   sql model 这只会取 sqlModel的条件部分
 	 * @return <tt>true</tt> 存在
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existBySqlModel(Class<? extends Modelable> modelClass, SqlModel<? extends Modelable> sqlModel) {
 		return countBySqlModel(modelClass, sqlModel) > 0;
 	}
@@ -631,6 +1208,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param sqlModel sql model 这只会取 sqlModel的条件部分
 	 * @return <tt>true</tt> 存在
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default boolean existBySqlModel(String countSql, SqlModel<? extends Modelable> sqlModel) {
 		return countBySqlModel(countSql, null, sqlModel) > 0;
 	}
@@ -644,6 +1222,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param sqlModel   SqlModel取条件、排序部分
 	 * @return 查询到的模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findBySqlModel(Class<M> modelClass, String selectSql,
 			SqlModel<? extends Modelable> sqlModel) {
 		return findBySqlModel(modelClass, selectSql, null, sqlModel);
@@ -659,6 +1238,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @return 查询到的第一个模型对象。如果不存在则返回null
 	 */
 	@Nullable
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> M findFirstBySqlModel(Class<M> modelClass, String selectSql,
 			SqlModel<? extends Modelable> sqlModel) {
 		return findFirstBySqlModel(modelClass, selectSql, null, sqlModel);
@@ -676,6 +1256,7 @@ public interface SqlModelServiceAdapter extends SqlModelService {
 	 * @param pageSize   页面大小
 	 * @return 模型对象集合
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	default <M extends Modelable> List<M> findPageBySqlModel(Class<M> modelClass, String selectSql,
 			SqlModel<? extends Modelable> sqlModel, int pageNum, int pageSize) {
 		return findPageBySqlModel(modelClass, selectSql, null, sqlModel, pageNum, pageSize);
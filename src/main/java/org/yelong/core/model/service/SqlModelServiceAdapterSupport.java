@@ -0,0 +1,324 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.yelong.core.model.Modelable;
+import org.yelong.core.model.collector.ModelCollectors;
+
+/**
+ * {@link SqlModelServiceAdapter} 默认方法使用的工具方法
+ * 
+ * @since 2.2
+ */
+final class SqlModelServiceAdapterSupport {
+
+	/**
+	 * 元素数量不超过该值时逐个比较去除重复的元素
+	 */
+	private static final int DISTINCT_LINEAR_THRESHOLD = 16;
+
+	/**
+	 * {@link #modifyCollector(SqlModelServiceAdapter, boolean, Supplier)} 的锁
+	 */
+	private static final Object MODIFY_SELECTIVE_LOCK = new Object();
+
+	private SqlModelServiceAdapterSupport() {
+	}
+
+	/**
+	 * 将数组按照指定的大小拆分为多个数组<br/>
+	 * 
+	 * 如果数组长度不超过 chunkSize 或者 chunkSize 小于等于0，则不进行拆分
+	 * 
+	 * @param array     数组
+	 * @param chunkSize 每个数组的最大长度
+	 * @return 拆分后的数组集合
+	 */
+	static List<Object[]> chunk(Object[] array, int chunkSize) {
+		if (chunkSize <= 0 || array.length <= chunkSize) {
+			return Collections.singletonList(array);
+		}
+		List<Object[]> chunks = new ArrayList<>((array.length + chunkSize - 1) / chunkSize);
+		for (int from = 0; from < array.length; from += chunkSize) {
+			chunks.add(Arrays.copyOfRange(array, from, Math.min(from + chunkSize, array.length)));
+		}
+		return chunks;
+	}
+
+	/**
+	 * 移除model class的所有模型对象缓存。adapter未启用缓存时不做任何操作<br/>
+	 * 
+	 * 在事务中执行时，事务结束（提交或回滚）后再次移除，避免事务提交前其他线程将旧的记录重新放入缓存
+	 * 
+	 * @param adapter    adapter
+	 * @param modelClass model class
+	 */
+	static void invalidateModelCache(SqlModelServiceAdapter adapter, Class<?> modelClass) {
+		ModelCache modelCache = adapter.getModelCache();
+		if (null != modelCache) {
+			modelCache.invalidateAll(modelClass);
+			afterTransactionCompletion(() -> modelCache.invalidateAll(modelClass));
+		}
+	}
+
+	/**
+	 * 移除主键值对应的模型对象缓存。adapter未启用缓存时不做任何操作<br/>
+	 * 
+	 * 在事务中执行时，事务结束（提交或回滚）后再次移除
+	 * 
+	 * @param adapter          adapter
+	 * @param modelClass       model class
+	 * @param primaryKeyValues 主键值
+	 */
+	static void invalidateModelCache(SqlModelServiceAdapter adapter, Class<?> modelClass,
+			Object[] primaryKeyValues) {
+		ModelCache modelCache = adapter.getModelCache();
+		if (null != modelCache) {
+			modelCache.invalidate(modelClass, primaryKeyValues);
+			afterTransactionCompletion(() -> modelCache.invalidate(modelClass, primaryKeyValues));
+		}
+	}
+
+	/**
+	 * 当前是否可以使用模型对象缓存。读写事务中查询到的记录可能是未提交的数据，缓存中的记录也可能不包含该事务中的修改，均不使用缓存
+	 * 
+	 * @return <tt>true</tt> 不在事务中或者在只读事务中
+	 */
+	static boolean isModelCacheUsable() {
+		return !TransactionSynchronizationManager.isActualTransactionActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	/**
+	 * 当前线程存在事务同步时，在事务结束后执行操作
+	 */
+	private static void afterTransactionCompletion(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			@Override
+			public void afterCompletion(int status) {
+				action.run();
+			}
+
+		});
+	}
+
+	/**
+	 * 以指定的选择性模式创建修改的收集器<br/>
+	 * 
+	 * {@link ModelCollectors#setModifySelective(boolean)} 是全局的状态。设置状态与创建收集器在同一个锁中完成，创建后立即恢复为
+	 * {@link SqlModelServiceAdapter#isDefaultModifySelective()}。锁只在创建收集器时持有，不包含SQL的执行，
+	 * 并发的修改不会因此串行，也不会与数据库的行锁形成死锁<br/>
+	 * 
+	 * 注意：这要求 yelong-core 在创建收集器时读取该状态。如果在执行 collect 时才读取，该层无法隔离各个调用的模式，
+	 * 需要在 yelong-core 中将模式作为收集器的参数
+	 * 
+	 * @param <C>       collector type
+	 * @param adapter   adapter
+	 * @param selective 是否选择性修改
+	 * @param factory   收集器的创建
+	 * @return 收集器
+	 */
+	static <C> C modifyCollector(SqlModelServiceAdapter adapter, boolean selective, Supplier<C> factory) {
+		synchronized (MODIFY_SELECTIVE_LOCK) {
+			ModelCollectors.setModifySelective(selective);
+			try {
+				return factory.get();
+			} finally {
+				ModelCollectors.setModifySelective(adapter.isDefaultModifySelective());
+			}
+		}
+	}
+
+	/**
+	 * 去除数组中重复的元素，保留元素第一次出现的顺序<br/>
+	 * 
+	 * 整数类型的元素按照 {@link #primaryKey(Object)} 比较，<code>1</code> 与 <code>1L</code> 视为重复的元素。
+	 * 数组中不存在重复的元素时返回数组本身：元素较少时逐个比较，元素均为整数并且已经升序排列时只遍历一次，均不创建新的对象
+	 * 
+	 * @param array 数组
+	 * @return 不包含重复元素的数组
+	 */
+	static Object[] distinct(Object[] array) {
+		int length = array.length;
+		if (length < 2) {
+			return array;
+		}
+		if (length <= DISTINCT_LINEAR_THRESHOLD) {
+			return distinctLinear(array);
+		}
+		if (isStrictlyAscendingIntegers(array)) {
+			return array;
+		}
+		Set<Object> keys = new HashSet<>(length * 4 / 3 + 1);
+		for (int i = 0; i < length; i++) {
+			if (!keys.add(primaryKey(array[i]))) {
+				// 存在重复的元素时才创建结果数组
+				List<Object> distinct = new ArrayList<>(length - 1);
+				for (int j = 0; j < i; j++) {
+					distinct.add(array[j]);
+				}
+				for (int j = i + 1; j < length; j++) {
+					if (keys.add(primaryKey(array[j]))) {
+						distinct.add(array[j]);
+					}
+				}
+				return distinct.toArray();
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * 统一整数类型的主键值为 {@link Long}，使 <code>1</code> 与 <code>1L</code> 相等
+	 * 
+	 * @param primaryKeyValue 主键值
+	 * @return 用于比较的主键值
+	 */
+	static Object primaryKey(Object primaryKeyValue) {
+		if (primaryKeyValue instanceof Integer || primaryKeyValue instanceof Short
+				|| primaryKeyValue instanceof Byte) {
+			return ((Number) primaryKeyValue).longValue();
+		}
+		return primaryKeyValue;
+	}
+
+	/**
+	 * 创建基于键集分页逐页加载的流。只有在消费完当前页的元素后才会查询下一页，内存中最多只存在一页的数据
+	 * 
+	 * @param <M>        model type
+	 * @param <K>        排序键类型
+	 * @param pageLoader 上一页最后一条记录的排序键（第一页为 <code>null</code>）-> 该页的数据
+	 * @return 逐页加载的流
+	 */
+	static <M extends Modelable, K> Stream<M> keysetStream(Function<K, KeysetPage<M, K>> pageLoader) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new KeysetIterator<>(pageLoader),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * 元素较少时逐个比较，不存在重复的元素时不创建新的对象
+	 */
+	private static Object[] distinctLinear(Object[] array) {
+		for (int i = 1; i < array.length; i++) {
+			if (indexOf(array, i, array[i]) >= 0) {
+				List<Object> distinct = new ArrayList<>(array.length - 1);
+				for (int j = 0; j < array.length; j++) {
+					if (j < i || indexOf(array, j, array[j]) < 0) {
+						distinct.add(array[j]);
+					}
+				}
+				return distinct.toArray();
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * @return array[0, end) 中与 element 相等的元素的位置。不存在时返回 -1
+	 */
+	private static int indexOf(Object[] array, int end, Object element) {
+		for (int i = 0; i < end; i++) {
+			if (primaryKeyEquals(array[i], element)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean primaryKeyEquals(Object a, Object b) {
+		if (isIntegral(a) && isIntegral(b)) {
+			return ((Number) a).longValue() == ((Number) b).longValue();
+		}
+		return Objects.equals(a, b);
+	}
+
+	/**
+	 * @return <tt>true</tt> 元素均为整数并且严格升序排列（即不存在重复的元素）
+	 */
+	private static boolean isStrictlyAscendingIntegers(Object[] array) {
+		if (!isIntegral(array[0])) {
+			return false;
+		}
+		long previous = ((Number) array[0]).longValue();
+		for (int i = 1; i < array.length; i++) {
+			if (!isIntegral(array[i])) {
+				return false;
+			}
+			long current = ((Number) array[i]).longValue();
+			if (current <= previous) {
+				return false;
+			}
+			previous = current;
+		}
+		return true;
+	}
+
+	private static boolean isIntegral(Object value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+	}
+
+	/**
+	 * 基于键集分页逐页加载的迭代器
+	 */
+	private static final class KeysetIterator<M extends Modelable, K> implements Iterator<M> {
+
+		private final Function<K, KeysetPage<M, K>> pageLoader;
+
+		private K lastKey;
+
+		private Iterator<M> page = Collections.emptyIterator();
+
+		private boolean lastPage;
+
+		KeysetIterator(Function<K, KeysetPage<M, K>> pageLoader) {
+			this.pageLoader = pageLoader;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (!page.hasNext()) {
+				if (lastPage) {
+					return false;
+				}
+				KeysetPage<M, K> keysetPage = pageLoader.apply(lastKey);
+				lastKey = keysetPage.getLastKey();
+				lastPage = !keysetPage.hasNext();
+				page = keysetPage.getModels().iterator();
+			}
+			return true;
+		}
+
+		@Override
+		public M next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return page.next();
+		}
+
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+/**
+ * 可配置 {@link SqlModelServiceAdapter} 查询方法事务策略的事务属性源<br/>
+ * 
+ * 查询方法指 {@link SqlModelServiceAdapter} 接口自身声明的、标注为 SUPPORTS 只读事务的方法。
+ * 实现类或子接口中声明的方法（包括应用自己标注的只读事务方法）以及其他方法的事务属性与
+ * {@link AnnotationTransactionAttributeSource} 相同<br/>
+ * 
+ * 使用时注册为名称为 <code>transactionAttributeSource</code> 的 bean，替换 Spring 默认的事务属性源
+ * 
+ * @since 2.2
+ */
+public class SqlModelServiceAdapterTransactionAttributeSource extends AnnotationTransactionAttributeSource {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 查询方法的事务策略
+	 */
+	public enum ReadTransactionPolicy {
+
+		/**
+		 * 不开启事务。存在外层事务时加入外层事务（默认）
+		 */
+		NONE,
+
+		/**
+		 * 开启只读事务。方法内的多次查询在同一个事务中执行
+		 */
+		READ_ONLY,
+
+		/**
+		 * 开启读写事务。与 2.2 之前的版本相同
+		 */
+		READ_WRITE
+
+	}
+
+	private final ReadTransactionPolicy readTransactionPolicy;
+
+	/**
+	 * 查询方法 -> 目标类 -> 按照策略修改后的事务属性。以方法和类作为键，查找时不需要计算事务属性的 hashCode
+	 */
+	private final Map<Method, Map<Class<?>, TransactionAttribute>> policyTransactionAttributes = new ConcurrentHashMap<>();
+
+	/**
+	 * @param readTransactionPolicy 查询方法的事务策略
+	 */
+	public SqlModelServiceAdapterTransactionAttributeSource(ReadTransactionPolicy readTransactionPolicy) {
+		this.readTransactionPolicy = Objects.requireNonNull(readTransactionPolicy, "readTransactionPolicy");
+	}
+
+	@Override
+	public TransactionAttribute getTransactionAttribute(Method method, Class<?> targetClass) {
+		TransactionAttribute transactionAttribute = super.getTransactionAttribute(method, targetClass);
+		if (null == transactionAttribute || readTransactionPolicy == ReadTransactionPolicy.NONE
+				|| method.getDeclaringClass() != SqlModelServiceAdapter.class || !transactionAttribute.isReadOnly()
+				|| transactionAttribute.getPropagationBehavior() != TransactionDefinition.PROPAGATION_SUPPORTS) {
+			return transactionAttribute;
+		}
+		Map<Class<?>, TransactionAttribute> targetClassTransactionAttributes = policyTransactionAttributes.get(method);
+		if (null == targetClassTransactionAttributes) {
+			targetClassTransactionAttributes = policyTransactionAttributes.computeIfAbsent(method,
+					k -> new ConcurrentHashMap<>(4));
+		}
+		// 不存在目标类时事务属性只与方法相关
+		Class<?> targetClassKey = null == targetClass ? SqlModelServiceAdapter.class : targetClass;
+		TransactionAttribute policyTransactionAttribute = targetClassTransactionAttributes.get(targetClassKey);
+		if (null == policyTransactionAttribute) {
+			policyTransactionAttribute = targetClassTransactionAttributes.computeIfAbsent(targetClassKey,
+					k -> applyReadTransactionPolicy(transactionAttribute));
+		}
+		return policyTransactionAttribute;
+	}
+
+	/**
+	 * 根据查询方法的事务策略修改事务属性
+	 * 
+	 * @param transactionAttribute 注解声明的事务属性
+	 * @return 修改后的事务属性
+	 */
+	protected TransactionAttribute applyReadTransactionPolicy(TransactionAttribute transactionAttribute) {
+		DefaultTransactionAttribute policyTransactionAttribute = transactionAttribute instanceof RuleBasedTransactionAttribute
+				? new RuleBasedTransactionAttribute((RuleBasedTransactionAttribute) transactionAttribute)
+				: new DefaultTransactionAttribute(transactionAttribute);
+		policyTransactionAttribute.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+		policyTransactionAttribute.setReadOnly(readTransactionPolicy == ReadTransactionPolicy.READ_ONLY);
+		return policyTransactionAttribute;
+	}
+
+	/**
+	 * @return 查询方法的事务策略
+	 */
+	public ReadTransactionPolicy getReadTransactionPolicy() {
+		return readTransactionPolicy;
+	}
+
+}
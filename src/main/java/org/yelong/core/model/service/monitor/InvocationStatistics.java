@@ -0,0 +1,202 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service.monitor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.yelong.core.annotation.Nullable;
+
+/**
+ * 按照方法与model class统计调用次数、耗时分布与记录数的监听器
+ * 
+ * @since 2.2
+ */
+public class InvocationStatistics implements SqlModelServiceAdapterListener {
+
+	private final ConcurrentMap<Key, Statistic> statistics = new ConcurrentHashMap<>();
+
+	@Override
+	public void onInvoked(String methodName, @Nullable Class<?> modelClass, int parameterCount, long rowCount,
+			long elapsedNanos, @Nullable Throwable error) {
+		Key key = new Key(methodName, modelClass);
+		Statistic statistic = statistics.get(key);
+		if (null == statistic) {
+			statistic = statistics.computeIfAbsent(key, k -> new Statistic());
+		}
+		statistic.record(parameterCount, rowCount, elapsedNanos, null != error);
+	}
+
+	/**
+	 * @return 方法与model class -> 统计。返回的是实时的统计，不是快照
+	 */
+	public Map<Key, Statistic> getStatistics() {
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * 清空统计
+	 */
+	public void reset() {
+		statistics.clear();
+	}
+
+	/**
+	 * 统计的键：方法名称与model class
+	 */
+	public static final class Key {
+
+		private final String methodName;
+
+		@Nullable
+		private final Class<?> modelClass;
+
+		Key(String methodName, @Nullable Class<?> modelClass) {
+			this.methodName = methodName;
+			this.modelClass = modelClass;
+		}
+
+		public String getMethodName() {
+			return methodName;
+		}
+
+		@Nullable
+		public Class<?> getModelClass() {
+			return modelClass;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return methodName.equals(other.methodName) && modelClass == other.modelClass;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * methodName.hashCode() + Objects.hashCode(modelClass);
+		}
+
+		@Override
+		public String toString() {
+			return null == modelClass ? methodName : methodName + "(" + modelClass.getName() + ")";
+		}
+
+	}
+
+	/**
+	 * 一个方法与model class的统计<br/>
+	 * 
+	 * 耗时分布按照微秒的2的幂次划分：第 i 个区间的耗时小于 2^i 微秒（最后一个区间不设上限）
+	 */
+	public static final class Statistic {
+
+		/**
+		 * 耗时分布的区间数量。最后一个区间包含约1分钟以上的耗时
+		 */
+		public static final int BUCKET_COUNT = 27;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder errorCount = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder totalRows = new LongAdder();
+
+		private final LongAccumulator maxParameterCount = new LongAccumulator(Math::max, -1);
+
+		private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+		Statistic() {
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		void record(int parameterCount, long rowCount, long elapsedNanos, boolean error) {
+			count.increment();
+			if (error) {
+				errorCount.increment();
+			}
+			totalNanos.add(elapsedNanos);
+			maxNanos.accumulate(elapsedNanos);
+			if (rowCount > 0) {
+				totalRows.add(rowCount);
+			}
+			maxParameterCount.accumulate(parameterCount);
+			long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+			int bucket = 64 - Long.numberOfLeadingZeros(micros);
+			buckets[Math.min(bucket, BUCKET_COUNT - 1)].increment();
+		}
+
+		/**
+		 * @return 调用次数
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * @return 抛出异常的调用次数
+		 */
+		public long getErrorCount() {
+			return errorCount.sum();
+		}
+
+		/**
+		 * @return 总耗时（纳秒）
+		 */
+		public long getTotalNanos() {
+			return totalNanos.sum();
+		}
+
+		/**
+		 * @return 最大耗时（纳秒）
+		 */
+		public long getMaxNanos() {
+			return maxNanos.get();
+		}
+
+		/**
+		 * @return 结果的总记录数
+		 */
+		public long getTotalRows() {
+			return totalRows.sum();
+		}
+
+		/**
+		 * @return IN 列表的最大参数数量。没有数组、集合参数时为 -1
+		 */
+		public long getMaxParameterCount() {
+			return maxParameterCount.get();
+		}
+
+		/**
+		 * @return 耗时分布。第 i 个元素为耗时小于 2^i 微秒（且不小于 2^(i-1) 微秒）的调用次数
+		 */
+		public long[] getHistogram() {
+			long[] histogram = new long[BUCKET_COUNT];
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				histogram[i] = buckets[i].sum();
+			}
+			return histogram;
+		}
+
+	}
+
+}
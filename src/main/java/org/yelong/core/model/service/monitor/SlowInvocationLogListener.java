@@ -0,0 +1,42 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service.monitor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.yelong.core.annotation.Nullable;
+
+/**
+ * 慢调用日志。耗时超过阈值的方法调用以 WARN 级别记录
+ * 
+ * @since 2.2
+ */
+public class SlowInvocationLogListener implements SqlModelServiceAdapterListener {
+
+	private static final Log logger = LogFactory.getLog(SlowInvocationLogListener.class);
+
+	private final long thresholdNanos;
+
+	/**
+	 * @param threshold 阈值
+	 * @param timeUnit  阈值的单位
+	 */
+	public SlowInvocationLogListener(long threshold, TimeUnit timeUnit) {
+		this.thresholdNanos = timeUnit.toNanos(threshold);
+	}
+
+	@Override
+	public void onInvoked(String methodName, @Nullable Class<?> modelClass, int parameterCount, long rowCount,
+			long elapsedNanos, @Nullable Throwable error) {
+		if (elapsedNanos < thresholdNanos || !logger.isWarnEnabled()) {
+			return;
+		}
+		logger.warn(String.format("slow invocation : %s(%s) %dms, parameters: %d, rows: %d%s", methodName,
+				null == modelClass ? "" : modelClass.getName(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+				parameterCount, rowCount, null == error ? "" : ", error: " + error));
+	}
+
+}
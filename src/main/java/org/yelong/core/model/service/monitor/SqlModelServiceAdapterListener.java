@@ -0,0 +1,46 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service.monitor;
+
+import java.util.Objects;
+
+import org.yelong.core.annotation.Nullable;
+
+/**
+ * {@link SqlModelServiceAdapterMonitor} 监控到的方法调用的监听器
+ * 
+ * @since 2.2
+ */
+@FunctionalInterface
+public interface SqlModelServiceAdapterListener {
+
+	/**
+	 * 方法调用结束（包括抛出异常）后调用
+	 * 
+	 * @param methodName     方法名称
+	 * @param modelClass     model class。方法参数中不存在时为 <code>null</code>
+	 * @param parameterCount 主键值数组参数去重并拆分后每条 IN 语句最多的参数数量，或者集合参数的元素数量。不存在时为 -1
+	 * @param rowCount       结果的记录数：集合的大小、删除或修改的记录数、查询的记录数，查询单个模型对象时为0或1，
+	 *                       返回 boolean 的方法（如 exist*）为 <tt>true</tt> 时为1、<tt>false</tt> 时为0。无法确定时为 -1
+	 * @param elapsedNanos   耗时（纳秒）
+	 * @param error          抛出的异常。正常结束时为 <code>null</code>
+	 */
+	void onInvoked(String methodName, @Nullable Class<?> modelClass, int parameterCount, long rowCount,
+			long elapsedNanos, @Nullable Throwable error);
+
+	/**
+	 * 组合监听器，先调用该监听器，再调用 after
+	 * 
+	 * @param after 之后调用的监听器
+	 * @return 组合的监听器
+	 */
+	default SqlModelServiceAdapterListener andThen(SqlModelServiceAdapterListener after) {
+		Objects.requireNonNull(after, "after");
+		return (methodName, modelClass, parameterCount, rowCount, elapsedNanos, error) -> {
+			onInvoked(methodName, modelClass, parameterCount, rowCount, elapsedNanos, error);
+			after.onInvoked(methodName, modelClass, parameterCount, rowCount, elapsedNanos, error);
+		};
+	}
+
+}
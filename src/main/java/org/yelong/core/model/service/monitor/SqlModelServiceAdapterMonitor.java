@@ -0,0 +1,201 @@
+/**
+ * 
+ */
+package org.yelong.core.model.service.monitor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.yelong.core.annotation.Nullable;
+import org.yelong.core.model.Modelable;
+import org.yelong.core.model.service.SqlModelServiceAdapter;
+
+/**
+ * {@link SqlModelServiceAdapter} 的监控<br/>
+ * 
+ * 通过 {@link #proxy()} 获取代理对象，代理对象的每个方法调用结束后通知 {@link SqlModelServiceAdapterListener}。
+ * 只记录外部调用的方法，方法内部调用的其他默认方法不会重复记录。不执行SQL的配置方法（如
+ * {@link SqlModelServiceAdapter#getModelCache()}）不记录<br/>
+ * 
+ * 未设置监听器时不记录耗时、不统计参数与结果，但每次调用仍有JDK动态代理与反射调用的开销（参数数组的创建、{@link Method#invoke}）。
+ * 不需要监控的adapter不应通过该类代理
+ * 
+ * @since 2.2
+ */
+public class SqlModelServiceAdapterMonitor implements InvocationHandler {
+
+	/**
+	 * 不执行SQL的配置方法，不通知监听器
+	 */
+	private static final Set<String> CONFIGURATION_METHOD_NAMES = new HashSet<>(
+			Arrays.asList("getPrimaryKeyContainsChunkSize", "getModelCache", "isDefaultModifySelective"));
+
+	private final SqlModelServiceAdapter sqlModelServiceAdapter;
+
+	private final Object proxy;
+
+	@Nullable
+	private volatile SqlModelServiceAdapterListener listener;
+
+	/**
+	 * @param sqlModelServiceAdapter 被监控的adapter。代理对象实现该对象实现的所有接口
+	 */
+	public SqlModelServiceAdapterMonitor(SqlModelServiceAdapter sqlModelServiceAdapter) {
+		this.sqlModelServiceAdapter = Objects.requireNonNull(sqlModelServiceAdapter, "sqlModelServiceAdapter");
+		Set<Class<?>> interfaces = new LinkedHashSet<>();
+		for (Class<?> c = sqlModelServiceAdapter.getClass(); null != c; c = c.getSuperclass()) {
+			for (Class<?> i : c.getInterfaces()) {
+				interfaces.add(i);
+			}
+		}
+		interfaces.add(SqlModelServiceAdapter.class);
+		this.proxy = Proxy.newProxyInstance(sqlModelServiceAdapter.getClass().getClassLoader(),
+				interfaces.toArray(new Class<?>[interfaces.size()]), this);
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		SqlModelServiceAdapterListener listener = this.listener;
+		if (null == listener || method.getDeclaringClass() == Object.class || isConfigurationMethod(method)) {
+			return invokeTarget(method, args);
+		}
+		long start = System.nanoTime();
+		Object result = null;
+		Throwable error = null;
+		try {
+			result = invokeTarget(method, args);
+			return result;
+		} catch (Throwable e) {
+			error = e;
+			throw e;
+		} finally {
+			long elapsedNanos = System.nanoTime() - start;
+			listener.onInvoked(method.getName(), getModelClass(args), getParameterCount(args),
+					getRowCount(method, result), elapsedNanos, error);
+		}
+	}
+
+	private static boolean isConfigurationMethod(Method method) {
+		return method.getParameterCount() == 0 && CONFIGURATION_METHOD_NAMES.contains(method.getName());
+	}
+
+	private Object invokeTarget(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(sqlModelServiceAdapter, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	/**
+	 * 参数中的 model class，或者第一个模型对象的 class
+	 */
+	@Nullable
+	private static Class<?> getModelClass(Object[] args) {
+		if (null == args) {
+			return null;
+		}
+		for (Object arg : args) {
+			if (arg instanceof Class) {
+				return (Class<?>) arg;
+			}
+			if (arg instanceof Modelable) {
+				return arg.getClass();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 第一个数组或者集合参数的元素数量。主键值数组为去重并按照
+	 * {@link SqlModelServiceAdapter#getPrimaryKeyContainsChunkSize()} 拆分后，每条 IN 语句最多的参数数量
+	 */
+	private int getParameterCount(Object[] args) {
+		if (null == args) {
+			return -1;
+		}
+		for (Object arg : args) {
+			if (arg instanceof Object[]) {
+				int parameterCount = distinctCount((Object[]) arg);
+				int chunkSize = sqlModelServiceAdapter.getPrimaryKeyContainsChunkSize();
+				return chunkSize > 0 ? Math.min(parameterCount, chunkSize) : parameterCount;
+			}
+			if (arg instanceof Collection) {
+				return ((Collection<?>) arg).size();
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 去重后的元素数量。整数类型的元素统一为 {@link Long} 比较，与adapter去除重复主键值的方式相同
+	 */
+	private static int distinctCount(Object[] array) {
+		if (array.length < 2) {
+			return array.length;
+		}
+		Set<Object> distinct = new HashSet<>(array.length * 4 / 3 + 1);
+		for (Object element : array) {
+			if (element instanceof Integer || element instanceof Short || element instanceof Byte) {
+				element = ((Number) element).longValue();
+			}
+			distinct.add(element);
+		}
+		return distinct.size();
+	}
+
+	private static long getRowCount(Method method, @Nullable Object result) {
+		Class<?> returnType = method.getReturnType();
+		if (Modelable.class.isAssignableFrom(returnType)) {
+			// 查询单个模型对象，不存在时为0
+			return null == result ? 0 : 1;
+		}
+		if (result instanceof Boolean) {
+			return (Boolean) result ? 1 : 0;
+		}
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof Map) {
+			return ((Map<?, ?>) result).size();
+		}
+		if (result instanceof Integer || result instanceof Long) {
+			return ((Number) result).longValue();
+		}
+		return -1;
+	}
+
+	/**
+	 * @return 被监控的代理对象
+	 */
+	public SqlModelServiceAdapter proxy() {
+		return (SqlModelServiceAdapter) proxy;
+	}
+
+	/**
+	 * 设置监听器。为 <code>null</code> 时关闭监控
+	 * 
+	 * @param listener 监听器
+	 */
+	public void setListener(@Nullable SqlModelServiceAdapterListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * @return 监听器。未开启监控时为 <code>null</code>
+	 */
+	@Nullable
+	public SqlModelServiceAdapterListener getListener() {
+		return listener;
+	}
+
+}